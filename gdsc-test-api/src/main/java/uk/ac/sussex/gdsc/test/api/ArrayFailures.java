@@ -0,0 +1,227 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import uk.ac.sussex.gdsc.test.api.comparisons.ErrorStatistics;
+
+import java.util.function.IntFunction;
+
+/**
+ * Collects the failures of a test on the elements of an array.
+ *
+ * <p>Records the total number of failures and the first {@code n} failing indices in a fixed size
+ * buffer. For numerical values the index of the failure with the largest absolute, relative and ULP
+ * error is recorded using {@link ErrorStatistics}. Collection of each failure does not allocate
+ * memory; the values for the failure message are obtained from the array when the message is
+ * built.
+ *
+ * <p>The absolute and relative error between values {@code v1} and {@code v2} are:
+ * <pre>
+ * |v1 - v2|
+ * |v1 - v2| / max(|v1|, |v2|)
+ * </pre>
+ *
+ * <p>The ULP error is only recorded for floating-point values and is the number of representable
+ * values between {@code v1} and {@code v2} ignoring the sign of zero. NaN values are the worst
+ * absolute and relative error.
+ */
+final class ArrayFailures {
+  /** The separator between parts of the message. */
+  private static final String SEPARATOR = ", ";
+
+  /** The first failing indices. */
+  private final int[] indices;
+  /** The number of failures. */
+  private int count;
+  /** The error statistics of the failures. */
+  private final ErrorStatistics statistics = new ErrorStatistics();
+
+  /**
+   * Create an instance.
+   *
+   * @param maxIndices the maximum number of failing indices to record
+   * @throws IllegalArgumentException if the maximum indices is negative
+   */
+  ArrayFailures(int maxIndices) {
+    validateMaxIndices(maxIndices);
+    indices = new int[maxIndices];
+  }
+
+  /**
+   * Check the maximum number of failing indices is not negative. Zero records only the number of
+   * failures.
+   *
+   * @param maxIndices the maximum number of failing indices to record
+   * @throws IllegalArgumentException if the maximum indices is negative
+   */
+  static void validateMaxIndices(int maxIndices) {
+    if (maxIndices < 0) {
+      throw new IllegalArgumentException(
+          "Maximum indices must not be negative but was: " + maxIndices);
+    }
+  }
+
+  /**
+   * Get the number of failures.
+   *
+   * @return the count
+   */
+  int getCount() {
+    return count;
+  }
+
+  /**
+   * Add the failure at the specified index.
+   *
+   * @param index the index
+   */
+  void add(int index) {
+    if (count < indices.length) {
+      indices[count] = index;
+    }
+    count++;
+  }
+
+  /**
+   * Add the failure at the specified index.
+   *
+   * @param index the index
+   * @param expected the expected value
+   * @param actual the actual value
+   */
+  void add(int index, boolean expected, boolean actual) {
+    add(index);
+  }
+
+  /**
+   * Add the failure at the specified index.
+   *
+   * @param index the index
+   * @param expected the expected value
+   * @param actual the actual value
+   */
+  void add(int index, long expected, long actual) {
+    add(index);
+    statistics.add(index, expected, actual, true);
+  }
+
+  /**
+   * Add the failure at the specified index.
+   *
+   * @param index the index
+   * @param expected the expected value
+   * @param actual the actual value
+   */
+  void add(int index, float expected, float actual) {
+    add(index);
+    statistics.add(index, expected, actual, true);
+  }
+
+  /**
+   * Add the failure at the specified index.
+   *
+   * @param index the index
+   * @param expected the expected value
+   * @param actual the actual value
+   */
+  void add(int index, double expected, double actual) {
+    add(index);
+    statistics.add(index, expected, actual, true);
+  }
+
+  /**
+   * Builds the failure message.
+   *
+   * <pre>
+   * prefix + " at " + count + " of " + length + " indices [i1, i2, ...]"
+   * </pre>
+   *
+   * <p>The element with the maximum error of each type is appended with the expected and actual
+   * values. If the value functions are null then the failures are reported without errors.
+   *
+   * @param messageOrSupplier the message or supplier
+   * @param prefix the prefix for the failure
+   * @param length the length of the array
+   * @param expected the function to format the expected value at an index (can be null)
+   * @param actual the function to format the actual value at an index (can be null)
+   * @param test the test predicate
+   * @return the message
+   */
+  String toString(Object messageOrSupplier, String prefix, int length,
+      IntFunction<String> expected, IntFunction<String> actual, Object test) {
+    final StringBuilder sb = new StringBuilder(64);
+    sb.append(" at ").append(count).append(" of ").append(length).append(" indices [");
+    final int size = Math.min(count, indices.length);
+    for (int i = 0; i < size; i++) {
+      if (i != 0) {
+        sb.append(SEPARATOR);
+      }
+      sb.append(indices[i]);
+    }
+    if (size < count) {
+      if (size != 0) {
+        sb.append(SEPARATOR);
+      }
+      sb.append("...");
+    }
+    sb.append(']');
+    final MessageBuilder msg = MessageBuilder.of(messageOrSupplier).append(prefix)
+        .append(sb.toString());
+    if (actual == null) {
+      return msg.appendPredicate(test).toString();
+    }
+    final ErrorStatistics stats = statistics;
+    if (stats.getMaxAbsoluteErrorIndex() >= 0) {
+      appendError(msg, "absolute", String.valueOf(stats.getMaxAbsoluteError()),
+          (int) stats.getMaxAbsoluteErrorIndex(), expected, actual);
+      appendError(msg, "relative", String.valueOf(stats.getMaxRelativeError()),
+          (int) stats.getMaxRelativeErrorIndex(), expected, actual);
+    }
+    if (stats.getMaxUlpErrorIndex() >= 0) {
+      appendError(msg, "ULP", Long.toUnsignedString(stats.getMaxUlpError()),
+          (int) stats.getMaxUlpErrorIndex(), expected, actual);
+    }
+    return msg.appendPredicate(test).toString();
+  }
+
+  /**
+   * Append the maximum error.
+   *
+   * <pre>
+   * ", max " + name + " error " + error + " at index [i], expected: &lt;e&gt;, actual: &lt;a&gt;"
+   * </pre>
+   *
+   * @param msg the message
+   * @param name the name of the error
+   * @param error the error
+   * @param index the index of the error
+   * @param expected the function to format the expected value at an index
+   * @param actual the function to format the actual value at an index
+   */
+  private static void appendError(MessageBuilder msg, String name, String error, int index,
+      IntFunction<String> expected, IntFunction<String> actual) {
+    msg.append(SEPARATOR).append("max ").append(name).append(" error ").append(error)
+        .append((Indices) null, index).append(SEPARATOR)
+        .appendFormatted(expected.apply(index), actual.apply(index));
+  }
+}
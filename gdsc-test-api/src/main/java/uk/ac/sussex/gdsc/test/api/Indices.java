@@ -44,10 +44,15 @@ import java.util.Arrays;
  * no effect.
  */
 final class Indices {
+  /** A reusable instance for each thread. */
+  private static final ThreadLocal<Indices> INSTANCE = ThreadLocal.withInitial(Indices::new);
+
   /** The size. */
   private int size;
   /** The elements. */
   private int[] elements;
+  /** Set to true when the thread-local instance has been acquired. */
+  private boolean acquired;
 
   /**
    * Create an instance.
@@ -57,6 +62,42 @@ final class Indices {
     elements = new int[4];
   }
 
+  /**
+   * Acquire an empty instance. This is the reusable instance for the current thread if
+   * it is not in use; otherwise a new instance.
+   *
+   * <p>The instance must be returned using {@link #release()} when finished:
+   * <pre>
+   * Indices indices = Indices.acquire();
+   * try {
+   *   // ...
+   * } finally {
+   *   indices.release();
+   * }
+   * </pre>
+   *
+   * <p>This avoids allocation for the common case of a successful assertion.
+   *
+   * @return the indices
+   */
+  static Indices acquire() {
+    final Indices indices = INSTANCE.get();
+    if (indices.acquired) {
+      // Re-entrant use (e.g. an assertion within a predicate)
+      return new Indices();
+    }
+    indices.acquired = true;
+    return indices;
+  }
+
+  /**
+   * Release the instance obtained from {@link #acquire()}. The indices are cleared.
+   */
+  void release() {
+    size = 0;
+    acquired = false;
+  }
+
   /**
    * Get the current number of elements.
    *
@@ -101,6 +142,41 @@ final class Indices {
     return s == 0 ? -1 : elements[--size];
   }
 
+  /**
+   * Create a copy of the indices. A null argument returns a new empty instance.
+   *
+   * @param indices the indices (can be null)
+   * @return the copy
+   */
+  static Indices copyOf(Indices indices) {
+    final Indices copy = new Indices();
+    if (indices != null && indices.size != 0) {
+      copy.elements = Arrays.copyOf(indices.elements, Math.max(4, indices.size + 1));
+      copy.size = indices.size;
+    }
+    return copy;
+  }
+
+  /**
+   * Create the indices of a single element. An index that is outside the range of an
+   * {@code int} is not recorded.
+   *
+   * @param index the index
+   * @return the indices (or null)
+   */
+  static int[] of(long index) {
+    return index == (int) index ? new int[] {(int) index} : null;
+  }
+
+  /**
+   * Get the elements as an array.
+   *
+   * @return the elements
+   */
+  int[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
   /**
    * Append the string representation to the given StringBuilder.
    *
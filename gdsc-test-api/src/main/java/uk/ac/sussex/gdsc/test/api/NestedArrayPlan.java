@@ -0,0 +1,171 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import java.util.Arrays;
+
+/**
+ * Defines the traversal plan for a nested primitive array, e.g. {@code double[][][]}.
+ *
+ * <p>The plan is computed once per array class and cached. A nested primitive array class has a
+ * number of {@code Object[]} levels above a primitive leaf array type. All elements of such an
+ * array are guaranteed by the type system to be the array type of the next level (or null). This
+ * allows the leaves to be visited without checking the type of each sub-array.
+ *
+ * <pre>
+ * double[][][] : depth = 2; leaf = double[]
+ * int[][]      : depth = 1; leaf = int[]
+ * Object[]     : not a nested primitive array
+ * </pre>
+ */
+final class NestedArrayPlan {
+  /** The plan for each class. */
+  private static final ClassValue<NestedArrayPlan> PLANS = new ClassValue<NestedArrayPlan>() {
+    @Override
+    protected NestedArrayPlan computeValue(Class<?> type) {
+      return new NestedArrayPlan(type);
+    }
+  };
+
+  /** The number of {@code Object[]} levels above the leaf array. */
+  private final int depth;
+  /** The leaf primitive array type (or null). */
+  private final Class<?> leafType;
+
+  /**
+   * Create an instance.
+   *
+   * @param type the array type
+   */
+  private NestedArrayPlan(Class<?> type) {
+    int d = 0;
+    Class<?> t = type;
+    while (t.isArray() && !t.getComponentType().isPrimitive()) {
+      t = t.getComponentType();
+      d++;
+    }
+    if (t.isArray() && d != 0) {
+      depth = d;
+      leafType = t;
+    } else {
+      depth = 0;
+      leafType = null;
+    }
+  }
+
+  /**
+   * Gets the plan for the array type.
+   *
+   * @param type the array type
+   * @return the plan
+   */
+  static NestedArrayPlan of(Class<?> type) {
+    return PLANS.get(type);
+  }
+
+  /**
+   * Gets the number of {@code Object[]} levels above the leaf array. This is zero if the
+   * type is not a nested primitive array.
+   *
+   * @return the depth
+   */
+  int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Gets the leaf primitive array type, e.g. {@code double[].class}. This is null if the type
+   * is not a nested primitive array.
+   *
+   * @return the leaf type
+   */
+  Class<?> getLeafType() {
+    return leafType;
+  }
+
+  /**
+   * Stores the state of an iterative depth-first traversal of one or two nested arrays. At
+   * each level the stack holds the {@code Object[]} arrays being traversed and the current index.
+   *
+   * <p>A reusable instance is held for each thread to avoid allocation.
+   */
+  static final class Cursor {
+    /** A reusable instance for each thread. */
+    private static final ThreadLocal<Cursor> INSTANCE = ThreadLocal.withInitial(Cursor::new);
+
+    /** The first arrays at each level. */
+    Object[] arrays1 = new Object[4];
+    /** The second arrays at each level. */
+    Object[] arrays2 = new Object[4];
+    /** The index at each level. */
+    int[] index = new int[4];
+    /** Set to true when the thread-local instance has been acquired. */
+    private boolean acquired;
+
+    /**
+     * Acquire an instance with capacity for the specified depth. This is the reusable instance
+     * for the current thread if it is not in use; otherwise a new instance.
+     *
+     * <p>The instance must be returned using {@link #release()} when finished.
+     *
+     * @param depth the depth
+     * @return the cursor
+     */
+    static Cursor acquire(int depth) {
+      Cursor cursor = INSTANCE.get();
+      if (cursor.acquired) {
+        // Re-entrant use (e.g. an assertion within a predicate)
+        cursor = new Cursor();
+      }
+      cursor.acquired = true;
+      if (cursor.index.length < depth) {
+        cursor.arrays1 = new Object[depth];
+        cursor.arrays2 = new Object[depth];
+        cursor.index = new int[depth];
+      }
+      return cursor;
+    }
+
+    /**
+     * Release the instance obtained from {@link #acquire(int)}. References to arrays are
+     * cleared.
+     */
+    void release() {
+      Arrays.fill(arrays1, null);
+      Arrays.fill(arrays2, null);
+      acquired = false;
+    }
+
+    /**
+     * Push the index path of the cursor up to and including the specified level onto the indices.
+     *
+     * @param level the level
+     * @param indices the indices
+     */
+    void pushIndices(int level, Indices indices) {
+      for (int i = 0; i <= level; i++) {
+        indices.push(index[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Searches a range of indices in parallel for the first index that fails a test.
+ *
+ * <p>The range is divided into chunks that are searched using the common
+ * {@link ForkJoinPool}. The lowest failing index is returned irrespective of the order in which
+ * the chunks are processed. Chunks that start after a known failure are not searched.
+ */
+final class ParallelIndexSearch {
+  /** Default minimum number of primitive elements to search in a single task. */
+  static final int ELEMENT_THRESHOLD = 1 << 14;
+  /** The number of tasks to create for each thread in the common pool. */
+  private static final int TASKS_PER_THREAD = 4;
+
+  /**
+   * Search a range of indices for the first index that fails a test.
+   */
+  @FunctionalInterface
+  interface RangeSearch {
+    /**
+     * Search the range {@code [from, to)} and return the first index that fails the test.
+     *
+     * @param from the index of the first element (inclusive)
+     * @param to the index of the last element (exclusive)
+     * @return the index of the first failure, or -1 if all elements pass
+     */
+    int firstFailure(int from, int to);
+  }
+
+  /**
+   * Task to search a range of indices.
+   */
+  private static final class SearchTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /** The search. */
+    private final transient RangeSearch search;
+    /** The lowest index of a failure; initialised to the end of the entire range. */
+    private final AtomicInteger result;
+    /** The index of the first element (inclusive). */
+    private final int from;
+    /** The index of the last element (exclusive). */
+    private final int to;
+    /** The maximum size of a range to search without division. */
+    private final int chunkSize;
+
+    /**
+     * Create an instance.
+     *
+     * @param search the search
+     * @param result the result
+     * @param from the index of the first element (inclusive)
+     * @param to the index of the last element (exclusive)
+     * @param chunkSize the maximum size of a range to search without division
+     */
+    SearchTask(RangeSearch search, AtomicInteger result, int from, int to, int chunkSize) {
+      this.search = search;
+      this.result = result;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected void compute() {
+      // Ignore if a failure before this range is already known.
+      // The result is read once as it may be lowered concurrently by another task.
+      final int end = Math.min(to, result.get());
+      if (end <= from) {
+        return;
+      }
+      if (to - from <= chunkSize) {
+        final int index = search.firstFailure(from, end);
+        if (index >= 0) {
+          result.accumulateAndGet(index, Math::min);
+        }
+        return;
+      }
+      final int mid = (from + to) >>> 1;
+      invokeAll(new SearchTask(search, result, from, mid, chunkSize),
+          new SearchTask(search, result, mid, to, chunkSize));
+    }
+  }
+
+  /** No instances. */
+  private ParallelIndexSearch() {}
+
+  /**
+   * Search the range {@code [0, length)} in parallel for the first index that fails the test.
+   *
+   * <p>The range is divided into chunks using the parallelism of the common pool. Chunks are not
+   * smaller than the specified threshold.
+   *
+   * @param length the length of the range
+   * @param threshold the minimum size of a chunk
+   * @param search the search
+   * @return the index of the first failure, or -1 if all elements pass
+   */
+  static int firstFailure(int length, int threshold, RangeSearch search) {
+    final int tasks = ForkJoinPool.getCommonPoolParallelism() * TASKS_PER_THREAD;
+    final int chunkSize = Math.max(threshold, (int) Math.ceil((double) length / tasks));
+    final AtomicInteger result = new AtomicInteger(length);
+    ForkJoinPool.commonPool().invoke(new SearchTask(search, result, 0, length, chunkSize));
+    final int index = result.get();
+    return index == length ? -1 : index;
+  }
+}
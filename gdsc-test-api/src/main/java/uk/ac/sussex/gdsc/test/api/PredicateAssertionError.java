@@ -0,0 +1,248 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.function.Supplier;
+
+/**
+ * An {@link AssertionError} thrown when a test predicate fails.
+ *
+ * <p>The error carries the values, the indices of the value within an array (if applicable) and
+ * the predicate. The message is only built when {@link #getMessage()} is first called. This avoids
+ * the cost of formatting messages that are never read, e.g. when failures are counted and
+ * discarded.
+ *
+ * <p>The message may be built using the arrays that contained the failing values. Any changes to
+ * the array contents before the message is built may be reflected in the message.
+ *
+ * <p>Capture of the stack trace can be disabled:
+ *
+ * <ul>
+ * <li>For all instances using the system property {@value #PROPERTY_STACK_TRACE} set to
+ * {@code false}. The property is read once when the class is initialised.
+ * <li>For instances created by the current thread within the scope of
+ * {@link #runWithoutStackTrace(Runnable)}. This can wrap a test that is expected to fail, e.g.
+ * when failures are counted and discarded, without changing the errors of other tests.
+ * </ul>
+ *
+ * <p>The values and the predicate are not serialized. The message is built before
+ * serialization.
+ *
+ * @since 1.2
+ */
+public class PredicateAssertionError extends AssertionError {
+  /** The serial version ID. */
+  private static final long serialVersionUID = 1L;
+
+  /** An empty stack trace. */
+  private static final StackTraceElement[] NO_STACK_TRACE = {};
+  /** Empty indices. */
+  private static final int[] NO_INDICES = {};
+
+  /**
+   * The system property used to disable capture of the stack trace for all instances, e.g.
+   *
+   * <pre>
+   * -Dgdsc.test.api.stacktrace=false
+   * </pre>
+   */
+  public static final String PROPERTY_STACK_TRACE = "gdsc.test.api.stacktrace";
+
+  /** Set to true to capture the stack trace by default. */
+  private static final boolean STACK_TRACE_ENABLED =
+      !"false".equalsIgnoreCase(System.getProperty(PROPERTY_STACK_TRACE));
+  /** Set to false in the current thread to disable capture of the stack trace. */
+  private static final ThreadLocal<Boolean> LOCAL_STACK_TRACE_ENABLED = new ThreadLocal<>();
+
+  /** The expected value. */
+  private final transient Object expected;
+  /** The actual value. */
+  private final transient Object actual;
+  /** The indices of the value. */
+  private final int[] indices;
+  /** The predicate. */
+  private final transient Object predicate;
+  /** The message supplier. This is cleared when the message has been built. */
+  private transient volatile Supplier<String> messageSupplier;
+  /** The message. */
+  private volatile String message;
+  /** Set to true to allow the stack trace to be filled. */
+  private final boolean writableStackTrace;
+
+  /**
+   * Create an instance. The stack trace is captured if {@link #isStackTraceEnabled()}.
+   *
+   * @param expected the expected value (can be null)
+   * @param actual the actual value
+   * @param indices the indices of the value (can be null)
+   * @param predicate the predicate (can be null)
+   * @param messageSupplier the message supplier
+   */
+  public PredicateAssertionError(Object expected, Object actual, int[] indices, Object predicate,
+      Supplier<String> messageSupplier) {
+    this(expected, actual, indices, predicate, messageSupplier, isStackTraceEnabled());
+  }
+
+  /**
+   * Create an instance.
+   *
+   * @param expected the expected value (can be null)
+   * @param actual the actual value
+   * @param indices the indices of the value (can be null)
+   * @param predicate the predicate (can be null)
+   * @param messageSupplier the message supplier
+   * @param writableStackTrace set to true to capture the stack trace
+   */
+  public PredicateAssertionError(Object expected, Object actual, int[] indices, Object predicate,
+      Supplier<String> messageSupplier, boolean writableStackTrace) {
+    this.expected = expected;
+    this.actual = actual;
+    this.indices = indices == null ? NO_INDICES : indices;
+    this.predicate = predicate;
+    this.messageSupplier = messageSupplier;
+    this.writableStackTrace = writableStackTrace;
+    // The super-class constructor does not capture the stack trace (see fillInStackTrace)
+    if (writableStackTrace) {
+      super.fillInStackTrace();
+    } else {
+      setStackTrace(NO_STACK_TRACE);
+    }
+  }
+
+  /**
+   * Run the action without capture of the stack trace for instances created by the current
+   * thread. The previous setting is restored when the action completes.
+   *
+   * @param action the action
+   */
+  public static void runWithoutStackTrace(Runnable action) {
+    final Boolean previous = LOCAL_STACK_TRACE_ENABLED.get();
+    LOCAL_STACK_TRACE_ENABLED.set(Boolean.FALSE);
+    try {
+      action.run();
+    } finally {
+      if (previous == null) {
+        LOCAL_STACK_TRACE_ENABLED.remove();
+      } else {
+        LOCAL_STACK_TRACE_ENABLED.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Checks if the default for new instances created by the current thread is to capture the
+   * stack trace.
+   *
+   * @return true if the stack trace is captured
+   * @see #PROPERTY_STACK_TRACE
+   * @see #runWithoutStackTrace(Runnable)
+   */
+  public static boolean isStackTraceEnabled() {
+    final Boolean enabled = LOCAL_STACK_TRACE_ENABLED.get();
+    return enabled == null ? STACK_TRACE_ENABLED : enabled;
+  }
+
+  /**
+   * Gets the expected value. This is null if the predicate tests a single value.
+   *
+   * @return the expected value
+   */
+  public Object getExpected() {
+    return expected;
+  }
+
+  /**
+   * Gets the actual value.
+   *
+   * @return the actual value
+   */
+  public Object getActual() {
+    return actual;
+  }
+
+  /**
+   * Gets the indices of the value. This is empty if the value is not from an array.
+   *
+   * @return the indices
+   */
+  public int[] getIndices() {
+    return indices.clone();
+  }
+
+  /**
+   * Gets the predicate. This is null if the failure is not from a predicate, e.g. a test of
+   * exact equality.
+   *
+   * @return the predicate
+   */
+  public Object getPredicate() {
+    return predicate;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The message is built on the first call.
+   */
+  @Override
+  public String getMessage() {
+    String msg = message;
+    if (msg == null) {
+      final Supplier<String> supplier = messageSupplier;
+      if (supplier != null) {
+        msg = supplier.get();
+        message = msg;
+        messageSupplier = null;
+      } else {
+        // The message may have been built by another thread after the first read
+        msg = message;
+      }
+    }
+    return msg;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The stack trace is not captured during construction of the super-class. It is captured by
+   * the constructor of this class if enabled.
+   */
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    // This is called by the super-class constructor before the fields are initialised
+    return writableStackTrace ? super.fillInStackTrace() : this;
+  }
+
+  /**
+   * Build the message before writing the object.
+   *
+   * @param out the output stream
+   * @throws IOException if an I/O error occurs
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    getMessage();
+    out.defaultWriteObject();
+  }
+}
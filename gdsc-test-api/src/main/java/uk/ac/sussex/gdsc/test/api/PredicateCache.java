@@ -0,0 +1,180 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import uk.ac.sussex.gdsc.test.api.comparisons.ComparisonDescriptor;
+import uk.ac.sussex.gdsc.test.api.comparisons.ComparisonKind;
+
+/**
+ * A bounded cache of immutable comparison predicates keyed by the comparison kind, the value type
+ * and the tolerance.
+ *
+ * <p>The cache is direct mapped: each key is hashed to a single slot and a new entry replaces any
+ * existing entry in the slot. The memory footprint is therefore fixed. Repeat requests for the same
+ * predicate, for example when predicates are created inside a parameterised test loop, return the
+ * same instance.
+ *
+ * <p>Entries are immutable with final fields. The slots are read and written without
+ * synchronization; a race between threads may lose an entry or create a duplicate predicate but
+ * will never return a partially constructed entry.
+ */
+final class PredicateCache {
+  /** Golden ratio constant used to mix the hash. */
+  private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+
+  /** The cache slots. */
+  private final Entry[] entries;
+  /** The shift to map the hash to a slot. */
+  private final int shift;
+
+  /**
+   * A cache entry.
+   */
+  private static final class Entry {
+    /** The comparison kind. */
+    final ComparisonKind kind;
+    /** The value type. */
+    final int type;
+    /** The first key. */
+    final long key1;
+    /** The second key. */
+    final long key2;
+    /** The predicate. */
+    final ComparisonDescriptor value;
+
+    /**
+     * Create an instance.
+     *
+     * @param type the value type
+     * @param key1 the first key
+     * @param key2 the second key
+     * @param value the predicate
+     */
+    Entry(int type, long key1, long key2, ComparisonDescriptor value) {
+      this.kind = value.getComparisonKind();
+      this.type = type;
+      this.key1 = key1;
+      this.key2 = key2;
+      this.value = value;
+    }
+  }
+
+  /**
+   * Create an instance.
+   *
+   * @param bits the number of bits for the capacity ({@code 2^bits})
+   * @throws IllegalArgumentException if the bits are not in the range [1, 16]
+   */
+  PredicateCache(int bits) {
+    if (bits < 1 || bits > 16) {
+      throw new IllegalArgumentException("Bits must be in the range [1, 16]: " + bits);
+    }
+    entries = new Entry[1 << bits];
+    shift = Long.SIZE - bits;
+  }
+
+  /**
+   * Get the capacity.
+   *
+   * @return the capacity
+   */
+  int capacity() {
+    return entries.length;
+  }
+
+  /**
+   * Get the predicate for the key.
+   *
+   * @param kind the comparison kind
+   * @param type the value type
+   * @param key1 the first key
+   * @param key2 the second key
+   * @return the predicate (or null)
+   */
+  ComparisonDescriptor get(ComparisonKind kind, int type, long key1, long key2) {
+    final Entry e = entries[index(kind, type, key1, key2)];
+    if (e != null && e.kind == kind && e.type == type && e.key1 == key1 && e.key2 == key2) {
+      return e.value;
+    }
+    return null;
+  }
+
+  /**
+   * Put the predicate for the key. The kind of the key is the comparison kind of the predicate.
+   * Any existing entry in the same slot is replaced.
+   *
+   * @param type the value type
+   * @param key1 the first key
+   * @param key2 the second key
+   * @param value the predicate
+   */
+  void put(int type, long key1, long key2, ComparisonDescriptor value) {
+    final Entry e = new Entry(type, key1, key2, value);
+    entries[index(e.kind, type, key1, key2)] = e;
+  }
+
+  /**
+   * Compute the slot for the key.
+   *
+   * @param kind the comparison kind
+   * @param type the value type
+   * @param key1 the first key
+   * @param key2 the second key
+   * @return the index
+   */
+  private int index(ComparisonKind kind, int type, long key1, long key2) {
+    long h = (key1 * GOLDEN + key2) * GOLDEN + ((kind.ordinal() << 8) | type);
+    h ^= h >>> 29;
+    return (int) ((h * GOLDEN) >>> shift);
+  }
+
+  /**
+   * Create a key from the value. The key is unique for each value.
+   *
+   * @param value the value
+   * @return the key
+   */
+  static long key(double value) {
+    return Double.doubleToLongBits(value);
+  }
+
+  /**
+   * Create a key from the value. The key is unique for each value.
+   *
+   * @param value the value
+   * @return the key
+   */
+  static long key(float value) {
+    return Float.floatToIntBits(value);
+  }
+
+  /**
+   * Create a key from the value. The key is unique for each value.
+   *
+   * @param value the value
+   * @return the key
+   */
+  static long key(long value) {
+    return value;
+  }
+}
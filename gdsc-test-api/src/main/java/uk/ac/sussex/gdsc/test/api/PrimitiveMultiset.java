@@ -0,0 +1,150 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+/**
+ * A multiset of primitive values using an open-addressing hash table.
+ *
+ * <p>Values are stored as a {@code long} key. Floating-point values use the bits of the value
+ * with NaN values collapsed to a canonical NaN; the sign of zero is significant. This is
+ * consistent with {@link Double#equals(Object)}.
+ *
+ * <p>All values must be added before any values are removed.
+ */
+final class PrimitiveMultiset {
+  /** The minimum capacity of the table. */
+  private static final int MIN_CAPACITY = 16;
+  /** The maximum capacity of the table. */
+  private static final int MAX_CAPACITY = 1 << 30;
+  /** The golden ratio in 64-bit fixed point used to mix the key bits. */
+  private static final long PHI = 0x9e3779b97f4a7c15L;
+
+  /** The keys. */
+  private final long[] keys;
+  /** The count of each key. */
+  private final int[] counts;
+  /** Flag indicating the table slot is in use. */
+  private final boolean[] used;
+  /** The number of bits to shift the mixed key to create an index into the table. */
+  private final int shift;
+
+  /**
+   * Create an instance.
+   *
+   * @param size the maximum number of values
+   */
+  PrimitiveMultiset(int size) {
+    // Load factor of at most 0.5
+    final int capacity = (int) Math.min(MAX_CAPACITY,
+        Math.max(MIN_CAPACITY, Long.highestOneBit(size) << 2));
+    keys = new long[capacity];
+    counts = new int[capacity];
+    used = new boolean[capacity];
+    shift = Long.numberOfLeadingZeros(capacity - 1L);
+  }
+
+  /**
+   * Gets the key for the value.
+   *
+   * @param value the value
+   * @return the key
+   */
+  static long key(long value) {
+    return value;
+  }
+
+  /**
+   * Gets the key for the value.
+   *
+   * @param value the value
+   * @return the key
+   */
+  static long key(double value) {
+    return Double.doubleToLongBits(value);
+  }
+
+  /**
+   * Gets the key for the value.
+   *
+   * @param value the value
+   * @return the key
+   */
+  static long key(float value) {
+    return Float.floatToIntBits(value);
+  }
+
+  /**
+   * Gets the key for the value.
+   *
+   * @param value the value
+   * @return the key
+   */
+  static long key(boolean value) {
+    return value ? 1 : 0;
+  }
+
+  /**
+   * Adds the key.
+   *
+   * @param key the key
+   */
+  void add(long key) {
+    final int i = find(key);
+    keys[i] = key;
+    used[i] = true;
+    counts[i]++;
+  }
+
+  /**
+   * Removes the key.
+   *
+   * @param key the key
+   * @return true if the key was present
+   */
+  boolean remove(long key) {
+    final int i = find(key);
+    if (counts[i] == 0) {
+      // Empty slot or the key has been exhausted
+      return false;
+    }
+    counts[i]--;
+    return true;
+  }
+
+  /**
+   * Find the table index of the key, or the empty slot where the key can be inserted.
+   *
+   * @param key the key
+   * @return the index
+   */
+  private int find(long key) {
+    final int mask = keys.length - 1;
+    // Fibonacci hashing uses the upper bits of the product
+    int i = (int) ((key * PHI) >>> shift);
+    while (used[i] && keys[i] != key) {
+      // Linear probing
+      i = (i + 1) & mask;
+    }
+    return i;
+  }
+}
@@ -0,0 +1,208 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+/**
+ * Finds the first index where two arrays differ.
+ *
+ * <p>This is the Java 8 version of the class. It is replaced in a multi-release JAR by a
+ * version that delegates to {@code Arrays.mismatch} when running on Java 9 or later.
+ *
+ * <p>Floating-point values are compared using the bit representation of the value where all
+ * NaN values are collapsed to a single canonical NaN value. Two values are equal if the
+ * result of {@link Double#doubleToLongBits(double)} is the same. This is the same as binary
+ * equality of the values.
+ */
+final class ArrayMismatch {
+
+  /** No public construction. */
+  private ArrayMismatch() {}
+
+  /**
+   * Find the first index where the arrays differ within the range {@code [from, to)}.
+   *
+   * <p>The range is assumed to be valid for both arrays. An empty or inverted range has no
+   * mismatch.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param from the from index (inclusive)
+   * @param to the to index (exclusive)
+   * @return the first index that differs, or -1
+   */
+  static int mismatch(boolean[] values1, boolean[] values2, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (values1[i] != values2[i]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Find the first index where the arrays differ within the range {@code [from, to)}.
+   *
+   * <p>The range is assumed to be valid for both arrays. An empty or inverted range has no
+   * mismatch.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param from the from index (inclusive)
+   * @param to the to index (exclusive)
+   * @return the first index that differs, or -1
+   */
+  static int mismatch(byte[] values1, byte[] values2, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (values1[i] != values2[i]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Find the first index where the arrays differ within the range {@code [from, to)}.
+   *
+   * <p>The range is assumed to be valid for both arrays. An empty or inverted range has no
+   * mismatch.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param from the from index (inclusive)
+   * @param to the to index (exclusive)
+   * @return the first index that differs, or -1
+   */
+  static int mismatch(char[] values1, char[] values2, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (values1[i] != values2[i]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Find the first index where the arrays differ within the range {@code [from, to)}.
+   *
+   * <p>The range is assumed to be valid for both arrays. An empty or inverted range has no
+   * mismatch.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param from the from index (inclusive)
+   * @param to the to index (exclusive)
+   * @return the first index that differs, or -1
+   */
+  static int mismatch(short[] values1, short[] values2, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (values1[i] != values2[i]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Find the first index where the arrays differ within the range {@code [from, to)}.
+   *
+   * <p>The range is assumed to be valid for both arrays. An empty or inverted range has no
+   * mismatch.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param from the from index (inclusive)
+   * @param to the to index (exclusive)
+   * @return the first index that differs, or -1
+   */
+  static int mismatch(int[] values1, int[] values2, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (values1[i] != values2[i]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Find the first index where the arrays differ within the range {@code [from, to)}.
+   *
+   * <p>The range is assumed to be valid for both arrays. An empty or inverted range has no
+   * mismatch.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param from the from index (inclusive)
+   * @param to the to index (exclusive)
+   * @return the first index that differs, or -1
+   */
+  static int mismatch(long[] values1, long[] values2, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (values1[i] != values2[i]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Find the first index where the arrays differ within the range {@code [from, to)}.
+   *
+   * <p>The range is assumed to be valid for both arrays. An empty or inverted range has no
+   * mismatch.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param from the from index (inclusive)
+   * @param to the to index (exclusive)
+   * @return the first index that differs, or -1
+   */
+  static int mismatch(float[] values1, float[] values2, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (Float.floatToIntBits(values1[i]) != Float.floatToIntBits(values2[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Find the first index where the arrays differ within the range {@code [from, to)}.
+   *
+   * <p>The range is assumed to be valid for both arrays. An empty or inverted range has no
+   * mismatch.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param from the from index (inclusive)
+   * @param to the to index (exclusive)
+   * @return the first index that differs, or -1
+   */
+  static int mismatch(double[] values1, double[] values2, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (Double.doubleToLongBits(values1[i]) != Double.doubleToLongBits(values2[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
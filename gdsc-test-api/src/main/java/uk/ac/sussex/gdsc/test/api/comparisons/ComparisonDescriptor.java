@@ -0,0 +1,81 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+/**
+ * Describes the comparison performed by a predicate.
+ *
+ * <p>Allows consumers of a predicate to select a specialised implementation for the comparison
+ * without testing the class of the predicate.
+ *
+ * <p>Error tolerances that are not used by the comparison kind are zero. For a comparison that
+ * accepts values using any one of the tolerances, a zero tolerance requires the values to be
+ * equal and so does not change the result.
+ *
+ * @see ComparisonKind
+ * @since 1.2
+ */
+public interface ComparisonDescriptor {
+  /**
+   * Gets the kind of the comparison.
+   *
+   * @return the comparison kind
+   */
+  ComparisonKind getComparisonKind();
+
+  /**
+   * Gets the maximum relative error between values for which they are still considered equal.
+   *
+   * <p>The default implementation returns zero.
+   *
+   * @return the maximum relative error
+   */
+  default double getMaxRelativeError() {
+    return 0;
+  }
+
+  /**
+   * Gets the maximum absolute error between values for which they are still considered equal.
+   *
+   * <p>Integer absolute errors are converted to a {@code double} and may lose precision for
+   * values of {@code long} magnitude.
+   *
+   * <p>The default implementation returns zero.
+   *
+   * @return the maximum absolute error
+   */
+  default double getMaxAbsoluteError() {
+    return 0;
+  }
+
+  /**
+   * Gets the maximum number of units in the last place (ULP) between values for which they are
+   * still considered equal.
+   *
+   * <p>The default implementation returns zero.
+   *
+   * @return the maximum ULP error
+   */
+  default long getMaxUlpError() {
+    return 0;
+  }
+}
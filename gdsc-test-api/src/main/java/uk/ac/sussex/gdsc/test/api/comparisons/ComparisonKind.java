@@ -0,0 +1,52 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+/**
+ * Defines the kinds of comparison between two values.
+ *
+ * @see ComparisonDescriptor
+ * @since 1.2
+ */
+public enum ComparisonKind {
+  /** The values are equal using the {@code ==} operator. */
+  EQUAL,
+  /** The values are equal using their binary representation. */
+  BINARY_EQUAL,
+  /** The values are close using an absolute error tolerance. */
+  ABSOLUTELY_CLOSE,
+  /** The values are close using a symmetric relative error tolerance. */
+  RELATIVELY_CLOSE,
+  /** The values are close using a symmetric relative or an absolute error tolerance. */
+  CLOSE,
+  /**
+   * The actual value is close to the expected value using a relative error tolerance that is
+   * asymmetric for the expected value, or an absolute error tolerance.
+   */
+  IS_CLOSE_TO,
+  /** The values are close using a ULP error tolerance. */
+  ULP_CLOSE,
+  /** The values are close using the {@link #CLOSE} comparison or a ULP error tolerance. */
+  CLOSE_OR_ULP_CLOSE,
+  /** The values are close using the {@link #CLOSE} comparison and a ULP error tolerance. */
+  CLOSE_AND_ULP_CLOSE
+}
@@ -65,6 +65,18 @@ final class Descriptions {
    * The description of ulp error {@code == 0}.
    */
   private static final String DESCRIPTION_ULP_ERROR_0 = "ulp == 0";
+  /**
+   * The description of the relative L2 norm error {@code <=}.
+   */
+  private static final String DESCRIPTION_REL_L2_ERROR_LTE = "||v1-v2||/||v1|| <= ";
+  /**
+   * The description of the maximum norm error {@code <=}.
+   */
+  private static final String DESCRIPTION_MAX_NORM_ERROR_LTE = "max(|v1-v2|) <= ";
+  /**
+   * The description of the root mean square error {@code <=}.
+   */
+  private static final String DESCRIPTION_RMS_ERROR_LTE = "rms(v1-v2) <= ";
 
   /**
    * Do not allow public construction.
@@ -391,6 +403,43 @@ final class Descriptions {
     return getDescriptionAreClose(DESCRIPTION_ASYM_REL_ERROR_LTE, relativeError, absoluteError);
   }
 
+  /**
+   * Get the description of the test that two arrays are equal within a relative Euclidean (L2)
+   * norm error.
+   *
+   * <p>It is assumed the error has been validated (is positive finite).
+   *
+   * @param relativeError the maximum relative error
+   * @return the description
+   */
+  static String getDescriptionRelativeL2(double relativeError) {
+    return DESCRIPTION_REL_L2_ERROR_LTE + relativeError;
+  }
+
+  /**
+   * Get the description of the test that two arrays are equal within a maximum norm error.
+   *
+   * <p>It is assumed the error has been validated (is positive finite).
+   *
+   * @param absoluteError the maximum absolute error
+   * @return the description
+   */
+  static String getDescriptionMaxNorm(double absoluteError) {
+    return DESCRIPTION_MAX_NORM_ERROR_LTE + absoluteError;
+  }
+
+  /**
+   * Get the description of the test that two arrays are equal within a root mean square error.
+   *
+   * <p>It is assumed the error has been validated (is positive finite).
+   *
+   * @param absoluteError the maximum root mean square error
+   * @return the description
+   */
+  static String getDescriptionRms(double absoluteError) {
+    return DESCRIPTION_RMS_ERROR_LTE + absoluteError;
+  }
+
   /**
    * Get the description of the test that two values are close using a relative and absolute error.
    * The type of relative error is specified.
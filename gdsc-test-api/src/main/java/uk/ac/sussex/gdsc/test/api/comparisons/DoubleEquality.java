@@ -124,6 +124,129 @@ public final class DoubleEquality {
     return Math.abs(a - b) <= ulpError && !Double.isNaN(value1 + value2);
   }
 
+  /**
+   * Compute the number of representable doubles between two doubles. The sign of zero is ignored,
+   * hence the distance between {@code -0.0} and {@code 0.0} is zero.
+   *
+   * <p>The result is an unsigned 64-bit integer as the distance between values of opposite sign
+   * may exceed {@link Long#MAX_VALUE}. Use {@link Long#compareUnsigned(long, long)} to compare
+   * distances. NaN values are treated using their bit representation; the distance to a NaN is
+   * larger than the distance to infinity.
+   *
+   * @param value1 the first value
+   * @param value2 the second value
+   * @return the ULP distance (unsigned)
+   */
+  static long ulpDistance(double value1, double value2) {
+    long a = Double.doubleToRawLongBits(value1);
+    long b = Double.doubleToRawLongBits(value2);
+    if ((a ^ b) < 0) {
+      // Opposite signs. Count changes to zero.
+      // This may overflow to an unsigned 64-bit integer.
+      a &= Long.MAX_VALUE;
+      b &= Long.MAX_VALUE;
+      return a + b;
+    }
+    // Same sign, no overflow possible.
+    return Math.abs(a - b);
+  }
+
+  /**
+   * Compute the number of representable doubles between each pair of elements in two arrays.
+   * The sign of zero is ignored.
+   *
+   * <p>Each distance is an unsigned 64-bit integer (see {@link Long#toUnsignedString(long)}).
+   * NaN values are treated using their bit representation; the distance to a NaN is larger than
+   * the distance to infinity.
+   *
+   * <p>This is a bulk operation intended for characterising the ULP distribution between large
+   * arrays of values.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param distances the output ULP distances (unsigned)
+   * @return the distances
+   * @throws IllegalArgumentException if the input lengths differ or the output is too small
+   * @since 1.2
+   */
+  public static long[] ulpDistances(double[] values1, double[] values2, long[] distances) {
+    NumberEquality.validateLengths(values1.length, values2.length, distances.length);
+    for (int i = 0; i < values1.length; i++) {
+      distances[i] = ulpDistance(values1[i], values2[i]);
+    }
+    return distances;
+  }
+
+  /**
+   * Compute the signed number of representable doubles from the first to the second value for
+   * each pair of elements in two arrays. The distance is positive if the second value is larger
+   * than the first value. The sign of zero is ignored.
+   *
+   * <p>The distance between values of opposite sign may exceed the range of a {@code long}. In
+   * this case the distance is saturated to {@link Long#MIN_VALUE} or {@link Long#MAX_VALUE}.
+   * NaN values are ordered by their bit representation: a positive NaN is above positive
+   * infinity and a negative NaN is below negative infinity.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param distances the output ULP distances
+   * @return the distances
+   * @throws IllegalArgumentException if the input lengths differ or the output is too small
+   * @since 1.2
+   */
+  public static long[] signedUlpDistances(double[] values1, double[] values2, long[] distances) {
+    NumberEquality.validateLengths(values1.length, values2.length, distances.length);
+    for (int i = 0; i < values1.length; i++) {
+      final long a = orderedBits(values1[i]);
+      final long b = orderedBits(values2[i]);
+      final long d = b - a;
+      // Overflow if the arguments have opposite signs and the result sign differs from b.
+      // Saturate to the limit with the sign of b.
+      distances[i] = ((b ^ a) & (b ^ d)) < 0 ? (b < 0 ? Long.MIN_VALUE : Long.MAX_VALUE) : d;
+    }
+    return distances;
+  }
+
+  /**
+   * Adds the number of representable doubles between each pair of elements in two arrays to a
+   * log2 histogram. The sign of zero is ignored.
+   *
+   * <p>Bucket 0 counts a distance of zero. Bucket {@code k > 0} counts unsigned distances in the
+   * range {@code [2^(k-1), 2^k)}. A histogram of length 65 has a bucket for all distances;
+   * distances beyond the last bucket of a shorter histogram are counted in the last bucket.
+   *
+   * <p>The histogram counts are incremented allowing the distribution to be accumulated over
+   * repeated calls. Computing the histogram does not require storage of the distances.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param histogram the histogram
+   * @return the histogram
+   * @throws IllegalArgumentException if the input lengths differ or the histogram is empty
+   * @see #ulpDistances(double[], double[], long[])
+   * @since 1.2
+   */
+  public static long[] ulpHistogram(double[] values1, double[] values2, long[] histogram) {
+    NumberEquality.validateHistogramLengths(values1.length, values2.length, histogram.length);
+    final int last = histogram.length - 1;
+    for (int i = 0; i < values1.length; i++) {
+      histogram[NumberEquality.ulpHistogramBucket(ulpDistance(values1[i], values2[i]), last)]++;
+    }
+    return histogram;
+  }
+
+  /**
+   * Gets the bits of the value mapped to a signed integer that has the same order as the value.
+   * Both signs of zero are mapped to zero.
+   *
+   * @param value the value
+   * @return the ordered bits
+   */
+  private static long orderedBits(double value) {
+    final long bits = Double.doubleToRawLongBits(value);
+    return bits < 0 ? -(bits & Long.MAX_VALUE) : bits;
+  }
+
   /**
    * Tests that two doubles are equal within an absolute error.
    *
@@ -258,6 +381,29 @@ public final class DoubleEquality {
     return delta <= max(Math.abs(value1), Math.abs(value2)) * relativeError;
   }
 
+  /**
+   * Tests that two doubles are close using a relative error. The relative error between values
+   * {@code value1} and {@code value2} is relative to the largest magnitude of the two values.
+   *
+   * <p>This is equivalent to
+   * {@link #testAreClose(double, double, double, double)} using an absolute error of zero.
+   *
+   * <p>It is assumed the error has been validated with
+   * {@link NumberEquality#validateSymmetricRelativeError(double)}.
+   *
+   * @param value1 the first value
+   * @param value2 the second value
+   * @param relativeError the maximum relative error between {@code value1} and {@code value2} for
+   *        which both numbers are still considered equal.
+   * @return true if close
+   */
+  static boolean testAreRelativelyClose(double value1, double value2, double relativeError) {
+    // Equal finite values have a delta of zero. NaN values and infinite values will create
+    // a NaN delta and return false.
+    final double delta = Math.abs(value1 - value2);
+    return delta <= max(Math.abs(value1), Math.abs(value2)) * relativeError;
+  }
+
   /**
    * Compute the maximum of two values without NaN checks.
    *
@@ -0,0 +1,395 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+/**
+ * Accumulates the error between pairs of expected and actual values.
+ *
+ * <p>Records the number of values, the number of values that are a mismatch, and the index and
+ * size of the largest absolute, relative and ULP error. The absolute and relative error between
+ * values {@code v1} and {@code v2} are:
+ *
+ * <pre>
+ * |v1 - v2|
+ * |v1 - v2| / max(|v1|, |v2|)
+ * </pre>
+ *
+ * <p>The relative error is zero if the absolute error is zero. NaN is the largest absolute and
+ * relative error. If two errors are equal then the lowest index is recorded.
+ *
+ * <p>The ULP error is only recorded for floating-point values and is the number of representable
+ * values between {@code v1} and {@code v2} ignoring the sign of zero (see
+ * {@link DoubleEquality#areWithinUlp(double, double, int)}). The ULP error for {@code double}
+ * values may exceed {@link Long#MAX_VALUE} and is stored as an unsigned 64-bit integer.
+ *
+ * <p>Instances can be combined allowing statistics to be accumulated in parallel on parts of a
+ * data set. This class is not thread-safe.
+ *
+ * @since 1.2
+ */
+public final class ErrorStatistics {
+  /** The separator between parts of the string representation. */
+  private static final String SEPARATOR = ", ";
+
+  /** The number of values. */
+  private long count;
+  /** The number of mismatches. */
+  private long mismatchCount;
+  /** The index of the maximum absolute error. */
+  private long absoluteIndex = -1;
+  /** The maximum absolute error. */
+  private double absoluteError;
+  /** The index of the maximum relative error. */
+  private long relativeIndex = -1;
+  /** The maximum relative error. */
+  private double relativeError;
+  /** The index of the maximum ULP error. */
+  private long ulpIndex = -1;
+  /** The maximum ULP error (unsigned). */
+  private long ulpError;
+
+  /**
+   * Adds the values at the specified index.
+   *
+   * <p>Values are expected to be added in ascending index order. Any index with an error equal to
+   * the current maximum error is ignored.
+   *
+   * @param index the index
+   * @param expected the expected value
+   * @param actual the actual value
+   * @param mismatch set to true if the values are a mismatch
+   * @return a reference to this object
+   */
+  public ErrorStatistics add(long index, double expected, double actual, boolean mismatch) {
+    addCount(mismatch);
+    addErrors(index, expected, actual);
+    addUlpError(index, DoubleEquality.ulpDistance(expected, actual));
+    return this;
+  }
+
+  /**
+   * Adds the values at the specified index.
+   *
+   * <p>Values are expected to be added in ascending index order. Any index with an error equal to
+   * the current maximum error is ignored.
+   *
+   * @param index the index
+   * @param expected the expected value
+   * @param actual the actual value
+   * @param mismatch set to true if the values are a mismatch
+   * @return a reference to this object
+   */
+  public ErrorStatistics add(long index, float expected, float actual, boolean mismatch) {
+    addCount(mismatch);
+    addErrors(index, expected, actual);
+    addUlpError(index, FloatEquality.ulpDistance(expected, actual));
+    return this;
+  }
+
+  /**
+   * Adds the values at the specified index.
+   *
+   * <p>Values are expected to be added in ascending index order. Any index with an error equal to
+   * the current maximum error is ignored.
+   *
+   * <p>The absolute difference is computed exactly and converted to {@code double} precision. No
+   * ULP error is recorded.
+   *
+   * @param index the index
+   * @param expected the expected value
+   * @param actual the actual value
+   * @param mismatch set to true if the values are a mismatch
+   * @return a reference to this object
+   */
+  public ErrorStatistics add(long index, long expected, long actual, boolean mismatch) {
+    addCount(mismatch);
+    // The unsigned difference is exact as the magnitude is below 2^64
+    final long difference = expected < actual ? actual - expected : expected - actual;
+    addAbsoluteError(index, unsignedToDouble(difference),
+        Math.max(Math.abs((double) expected), Math.abs((double) actual)));
+    return this;
+  }
+
+  /**
+   * Combines the statistics with the other instance. The other instance is not modified.
+   *
+   * <p>If the maximum error is the same in both instances then the lowest index is recorded.
+   *
+   * @param other the other statistics
+   * @return a reference to this object
+   */
+  public ErrorStatistics combine(ErrorStatistics other) {
+    count += other.count;
+    mismatchCount += other.mismatchCount;
+    if (isWorse(other.absoluteError, other.absoluteIndex, absoluteError, absoluteIndex)) {
+      absoluteIndex = other.absoluteIndex;
+      absoluteError = other.absoluteError;
+    }
+    if (isWorse(other.relativeError, other.relativeIndex, relativeError, relativeIndex)) {
+      relativeIndex = other.relativeIndex;
+      relativeError = other.relativeError;
+    }
+    if (other.ulpIndex >= 0 && (ulpIndex < 0 || isWorseUlp(other.ulpError, ulpError)
+        || (other.ulpError == ulpError && other.ulpIndex < ulpIndex))) {
+      ulpIndex = other.ulpIndex;
+      ulpError = other.ulpError;
+    }
+    return this;
+  }
+
+  /**
+   * Gets the number of values.
+   *
+   * @return the count
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the number of values that are a mismatch.
+   *
+   * @return the mismatch count
+   */
+  public long getMismatchCount() {
+    return mismatchCount;
+  }
+
+  /**
+   * Gets the maximum absolute error. Returns zero if no values have been added.
+   *
+   * @return the maximum absolute error
+   */
+  public double getMaxAbsoluteError() {
+    return absoluteError;
+  }
+
+  /**
+   * Gets the index of the maximum absolute error. Returns -1 if no values have been added.
+   *
+   * @return the index of the maximum absolute error
+   */
+  public long getMaxAbsoluteErrorIndex() {
+    return absoluteIndex;
+  }
+
+  /**
+   * Gets the maximum relative error. Returns zero if no values have been added.
+   *
+   * @return the maximum relative error
+   */
+  public double getMaxRelativeError() {
+    return relativeError;
+  }
+
+  /**
+   * Gets the index of the maximum relative error. Returns -1 if no values have been added.
+   *
+   * @return the index of the maximum relative error
+   */
+  public long getMaxRelativeErrorIndex() {
+    return relativeIndex;
+  }
+
+  /**
+   * Gets the maximum ULP error. Returns zero if no floating-point values have been added.
+   *
+   * <p>This is an unsigned 64-bit integer. Use {@link Long#compareUnsigned(long, long)} to
+   * compare values and {@link Long#toUnsignedString(long)} to format the value.
+   *
+   * @return the maximum ULP error (unsigned)
+   */
+  public long getMaxUlpError() {
+    return ulpError;
+  }
+
+  /**
+   * Gets the index of the maximum ULP error. Returns -1 if no floating-point values have been
+   * added.
+   *
+   * @return the index of the maximum ULP error
+   */
+  public long getMaxUlpErrorIndex() {
+    return ulpIndex;
+  }
+
+  /**
+   * Returns a summary of the statistics.
+   *
+   * <pre>
+   * "mismatches m of n, max absolute error e at index [i], max relative error ..."
+   * </pre>
+   *
+   * <p>Errors are omitted if they have not been recorded.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder(128);
+    sb.append("mismatches ").append(mismatchCount).append(" of ").append(count);
+    if (absoluteIndex >= 0) {
+      appendError(sb, "absolute", String.valueOf(absoluteError), absoluteIndex);
+      appendError(sb, "relative", String.valueOf(relativeError), relativeIndex);
+    }
+    if (ulpIndex >= 0) {
+      appendError(sb, "ULP", Long.toUnsignedString(ulpError), ulpIndex);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Increment the counts.
+   *
+   * @param mismatch set to true if the values are a mismatch
+   */
+  private void addCount(boolean mismatch) {
+    count++;
+    if (mismatch) {
+      mismatchCount++;
+    }
+  }
+
+  /**
+   * Adds the absolute and relative error.
+   *
+   * @param index the index
+   * @param expected the expected value
+   * @param actual the actual value
+   */
+  private void addErrors(long index, double expected, double actual) {
+    // Identical values have no error. This avoids a NaN error for matching infinities.
+    final boolean identical = expected == actual
+        || Double.doubleToRawLongBits(expected) == Double.doubleToRawLongBits(actual);
+    final double absolute = identical ? 0 : Math.abs(expected - actual);
+    addAbsoluteError(index, absolute, Math.max(Math.abs(expected), Math.abs(actual)));
+  }
+
+  /**
+   * Adds the absolute error and the relative error computed using the magnitude.
+   *
+   * @param index the index
+   * @param absolute the absolute error
+   * @param magnitude the largest magnitude of the values
+   */
+  private void addAbsoluteError(long index, double absolute, double magnitude) {
+    if (isWorse(absolute, absoluteError, absoluteIndex)) {
+      absoluteIndex = index;
+      absoluteError = absolute;
+    }
+    // Avoid 0 / 0 when the values are equal (e.g. a test of the sign of zero)
+    final double relative = absolute == 0 ? 0 : absolute / magnitude;
+    if (isWorse(relative, relativeError, relativeIndex)) {
+      relativeIndex = index;
+      relativeError = relative;
+    }
+  }
+
+  /**
+   * Convert the unsigned 64-bit integer to a {@code double}.
+   *
+   * @param value the value (unsigned)
+   * @return the value
+   */
+  private static double unsignedToDouble(long value) {
+    if (value >= 0) {
+      return value;
+    }
+    // Halve the value and retain the lowest bit so the result is correctly rounded
+    return ((value >>> 1) | (value & 1)) * 2.0;
+  }
+
+  /**
+   * Adds the ULP error.
+   *
+   * @param index the index
+   * @param ulp the ULP error (unsigned)
+   */
+  private void addUlpError(long index, long ulp) {
+    if (ulpIndex < 0 || isWorseUlp(ulp, ulpError)) {
+      ulpIndex = index;
+      ulpError = ulp;
+    }
+  }
+
+  /**
+   * Checks if the error is worse than the current error. NaN is the worst error.
+   *
+   * @param error the error
+   * @param current the current error
+   * @param currentIndex the index of the current error (negative if not set)
+   * @return true if worse
+   */
+  private static boolean isWorse(double error, double current, long currentIndex) {
+    return currentIndex < 0 || error > current || (Double.isNaN(error) && !Double.isNaN(current));
+  }
+
+  /**
+   * Checks if the error is worse than the current error. NaN is the worst error. Equal errors
+   * are worse if the index is lower.
+   *
+   * @param error the error
+   * @param index the index of the error (negative if not set)
+   * @param current the current error
+   * @param currentIndex the index of the current error (negative if not set)
+   * @return true if worse
+   */
+  private static boolean isWorse(double error, long index, double current, long currentIndex) {
+    if (index < 0) {
+      return false;
+    }
+    if (isWorse(error, current, currentIndex)) {
+      return true;
+    }
+    // Equal (including both NaN)
+    return Double.compare(error, current) == 0 && index < currentIndex;
+  }
+
+  /**
+   * Checks if the ULP error is worse than the current ULP error.
+   *
+   * @param ulp the ULP error (unsigned)
+   * @param current the current ULP error (unsigned)
+   * @return true if worse
+   */
+  private static boolean isWorseUlp(long ulp, long current) {
+    return Long.compareUnsigned(ulp, current) > 0;
+  }
+
+  /**
+   * Append the maximum error.
+   *
+   * <pre>
+   * ", max " + name + " error " + error + " at index [i]"
+   * </pre>
+   *
+   * @param sb the string builder
+   * @param name the name of the error
+   * @param error the error
+   * @param index the index of the error
+   */
+  private static void appendError(StringBuilder sb, String name, String error, long index) {
+    sb.append(SEPARATOR).append("max ").append(name).append(" error ").append(error)
+        .append(" at index [").append(index).append(']');
+  }
+}
@@ -124,6 +124,121 @@ public final class FloatEquality {
     return Math.abs(a - b) <= ulpError && !Float.isNaN(value1 + value2);
   }
 
+  /**
+   * Compute the number of representable floats between two floats. The sign of zero is ignored,
+   * hence the distance between {@code -0.0f} and {@code 0.0f} is zero.
+   *
+   * <p>NaN values are treated using their bit representation; the distance to a NaN is larger
+   * than the distance to infinity.
+   *
+   * @param value1 the first value
+   * @param value2 the second value
+   * @return the ULP distance
+   */
+  static long ulpDistance(float value1, float value2) {
+    int a = Float.floatToRawIntBits(value1);
+    int b = Float.floatToRawIntBits(value2);
+    if ((a ^ b) < 0) {
+      // Opposite signs. Count changes to zero.
+      a &= Integer.MAX_VALUE;
+      b &= Integer.MAX_VALUE;
+      return (long) a + b;
+    }
+    // Same sign, no overflow possible.
+    return Math.abs(a - b);
+  }
+
+  /**
+   * Compute the number of representable floats between each pair of elements in two arrays.
+   * The sign of zero is ignored.
+   *
+   * <p>Each distance is an unsigned 32-bit integer (see {@link Integer#toUnsignedLong(int)}).
+   * NaN values are treated using their bit representation; the distance to a NaN is larger than
+   * the distance to infinity.
+   *
+   * <p>This is a bulk operation intended for characterising the ULP distribution between large
+   * arrays of values.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param distances the output ULP distances (unsigned)
+   * @return the distances
+   * @throws IllegalArgumentException if the input lengths differ or the output is too small
+   * @since 1.2
+   */
+  public static int[] ulpDistances(float[] values1, float[] values2, int[] distances) {
+    NumberEquality.validateLengths(values1.length, values2.length, distances.length);
+    for (int i = 0; i < values1.length; i++) {
+      // The maximum distance is 2 * 0x7fffffff which is representable as unsigned 32-bit
+      distances[i] = (int) ulpDistance(values1[i], values2[i]);
+    }
+    return distances;
+  }
+
+  /**
+   * Compute the signed number of representable floats from the first to the second value for
+   * each pair of elements in two arrays. The distance is positive if the second value is larger
+   * than the first value. The sign of zero is ignored.
+   *
+   * <p>NaN values are ordered by their bit representation: a positive NaN is above positive
+   * infinity and a negative NaN is below negative infinity.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param distances the output ULP distances
+   * @return the distances
+   * @throws IllegalArgumentException if the input lengths differ or the output is too small
+   * @since 1.2
+   */
+  public static long[] signedUlpDistances(float[] values1, float[] values2, long[] distances) {
+    NumberEquality.validateLengths(values1.length, values2.length, distances.length);
+    for (int i = 0; i < values1.length; i++) {
+      // No overflow possible
+      distances[i] = (long) orderedBits(values2[i]) - orderedBits(values1[i]);
+    }
+    return distances;
+  }
+
+  /**
+   * Adds the number of representable floats between each pair of elements in two arrays to a
+   * log2 histogram. The sign of zero is ignored.
+   *
+   * <p>Bucket 0 counts a distance of zero. Bucket {@code k > 0} counts distances in the range
+   * {@code [2^(k-1), 2^k)}. A histogram of length 33 has a bucket for all distances; distances
+   * beyond the last bucket of a shorter histogram are counted in the last bucket.
+   *
+   * <p>The histogram counts are incremented allowing the distribution to be accumulated over
+   * repeated calls. Computing the histogram does not require storage of the distances.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @param histogram the histogram
+   * @return the histogram
+   * @throws IllegalArgumentException if the input lengths differ or the histogram is empty
+   * @see #ulpDistances(float[], float[], int[])
+   * @since 1.2
+   */
+  public static long[] ulpHistogram(float[] values1, float[] values2, long[] histogram) {
+    NumberEquality.validateHistogramLengths(values1.length, values2.length, histogram.length);
+    final int last = histogram.length - 1;
+    for (int i = 0; i < values1.length; i++) {
+      histogram[NumberEquality.ulpHistogramBucket(ulpDistance(values1[i], values2[i]), last)]++;
+    }
+    return histogram;
+  }
+
+  /**
+   * Gets the bits of the value mapped to a signed integer that has the same order as the value.
+   * Both signs of zero are mapped to zero.
+   *
+   * @param value the value
+   * @return the ordered bits
+   */
+  private static int orderedBits(float value) {
+    final int bits = Float.floatToRawIntBits(value);
+    return bits < 0 ? -(bits & Integer.MAX_VALUE) : bits;
+  }
+
   /**
    * Tests that two floats are equal within an absolute error.
    *
@@ -261,6 +376,30 @@ public final class FloatEquality {
     return delta <= max(Math.abs(value1), Math.abs(value2)) * relativeError;
   }
 
+  /**
+   * Tests that two floats are close using a relative error. The relative error between values
+   * {@code value1} and {@code value2} is relative to the largest magnitude of the two values.
+   *
+   * <p>This is equivalent to
+   * {@link #testAreClose(float, float, double, float)} using an absolute error of zero.
+   *
+   * <p>It is assumed the error has been validated with
+   * {@link NumberEquality#validateSymmetricRelativeError(double)}.
+   *
+   * @param value1 the first value
+   * @param value2 the second value
+   * @param relativeError the maximum relative error between {@code value1} and {@code value2} for
+   *        which both numbers are still considered equal.
+   * @return true if close
+   */
+  static boolean testAreRelativelyClose(float value1, float value2, double relativeError) {
+    // Equal finite values have a delta of zero. NaN values and infinite values will create
+    // a NaN delta and return false.
+    final float delta = Math.abs(value1 - value2);
+    // Compute using double precision
+    return delta <= max(Math.abs(value1), Math.abs(value2)) * relativeError;
+  }
+
   /**
    * Compute the maximum of two values without NaN checks.
    *
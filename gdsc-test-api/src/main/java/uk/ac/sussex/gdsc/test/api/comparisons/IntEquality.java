@@ -172,6 +172,29 @@ public final class IntEquality {
     return delta <= 0.0 - (Math.min(negativeAbs(value1), negativeAbs(value2)) * relativeError);
   }
 
+  /**
+   * Tests that two ints are close using a relative error. The relative error between values
+   * {@code value1} and {@code value2} is relative to the largest magnitude of the two values.
+   *
+   * <p>This is equivalent to
+   * {@link #testAreClose(int, int, double, long)} using an absolute error of zero.
+   *
+   * <p>It is assumed the error has been validated with
+   * {@link NumberEquality#validateSymmetricRelativeError(double)}.
+   *
+   * @param value1 the first value
+   * @param value2 the second value
+   * @param relativeError the maximum relative error between {@code value1} and {@code value2} for
+   *        which both numbers are still considered equal.
+   * @return true if close
+   */
+  static boolean testAreRelativelyClose(int value1, int value2, double relativeError) {
+    // Use long arithmetic
+    final long delta = (value1 > value2) ? (long) value1 - value2 : (long) value2 - value1;
+    // See testAreClose for the use of negative abs
+    return delta <= 0.0 - (Math.min(negativeAbs(value1), negativeAbs(value2)) * relativeError);
+  }
+
   /**
    * Return the negative of the absolute value.
    *
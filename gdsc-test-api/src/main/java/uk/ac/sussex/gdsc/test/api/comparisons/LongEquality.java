@@ -238,6 +238,32 @@ public final class LongEquality {
     return delta <= 0.0 - (Math.min(negativeAbs(value1), negativeAbs(value2)) * relativeError);
   }
 
+  /**
+   * Tests that two longs are close using a relative error. The relative error between values
+   * {@code value1} and {@code value2} is relative to the largest magnitude of the two values.
+   *
+   * <p>This is equivalent to
+   * {@link #testAreClose(long, long, double, long)} using an absolute error of zero.
+   *
+   * <p>It is assumed the error has been validated with
+   * {@link NumberEquality#validateSymmetricRelativeError(double)}.
+   *
+   * @param value1 the first value
+   * @param value2 the second value
+   * @param relativeError the maximum relative error between {@code value1} and {@code value2} for
+   *        which both numbers are still considered equal.
+   * @return true if close
+   */
+  static boolean testAreRelativelyClose(long value1, long value2, double relativeError) {
+    final long delta = (value1 > value2) ? value1 - value2 : value2 - value1;
+    // Check delta for overflow. It should be positive.
+    if (delta < 0) {
+      return false;
+    }
+    // See testAreClose for the use of negative abs
+    return delta <= 0.0 - (Math.min(negativeAbs(value1), negativeAbs(value2)) * relativeError);
+  }
+
   /**
    * Return the negative of the absolute value.
    *
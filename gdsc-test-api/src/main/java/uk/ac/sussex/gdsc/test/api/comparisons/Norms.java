@@ -0,0 +1,280 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+/**
+ * Defines utilities for computing norms of the difference between two arrays.
+ *
+ * <p>Each norm is computed in a single pass over both arrays. The Euclidean (L2) norm uses a
+ * scaled sum of squares to avoid overflow and underflow of the intermediate sum.
+ */
+final class Norms {
+
+  /**
+   * Do not allow public construction.
+   */
+  private Norms() {
+    // No constructor
+  }
+
+  /**
+   * Accumulates a sum of squares scaled by the largest magnitude. The norm is
+   * {@code factor * scale * sqrt(sum)}. This is the method used by the LAPACK routine
+   * {@code dnrm2}.
+   */
+  private static final class ScaledSumOfSquares {
+    /** The scale (largest magnitude). */
+    private double scale;
+    /** The sum of squares of the values divided by the scale. */
+    private double sum;
+    /** The factor applied to the values; this is 2 when the values have been halved. */
+    private double factor = 1;
+
+    /**
+     * Adds the difference {@code value2 - value1}.
+     *
+     * <p>If the difference of finite values overflows then all differences are halved and the
+     * factor is set to 2.
+     *
+     * @param value1 the first value
+     * @param value2 the second value
+     */
+    void addDifference(double value1, double value2) {
+      if (factor == 1) {
+        final double difference = value2 - value1;
+        if (Double.isInfinite(difference) && Double.isFinite(value1)
+            && Double.isFinite(value2)) {
+          // Halve the current values. Any precision lost by halving sub-normal values is
+          // negligible relative to the overflowed difference.
+          scale *= 0.5;
+          factor = 2;
+        } else {
+          add(difference);
+          return;
+        }
+      }
+      // Scale the operands before subtraction to avoid overflow
+      add(value2 * 0.5 - value1 * 0.5);
+    }
+
+    /**
+     * Adds the value.
+     *
+     * @param value the value
+     */
+    void add(double value) {
+      if (value != 0) {
+        final double abs = Math.abs(value);
+        if (abs > scale) {
+          // Rescale. This sets the sum to 1 if the value is infinite.
+          final double ratio = scale / abs;
+          sum = 1 + sum * ratio * ratio;
+          scale = abs;
+        } else if (abs <= scale) {
+          // Ignore finite values once the scale is infinite.
+          if (scale != Double.POSITIVE_INFINITY) {
+            final double ratio = abs / scale;
+            sum += ratio * ratio;
+          }
+        } else {
+          // NaN
+          sum = Double.NaN;
+        }
+      }
+    }
+
+    /**
+     * Gets the ratio of the Euclidean norm of this sum to the other sum.
+     *
+     * <p>If the other norm is zero the result is zero if this norm is zero; otherwise infinity.
+     *
+     * @param other the other sum
+     * @return the ratio
+     */
+    double ratio(ScaledSumOfSquares other) {
+      if (other.scale == 0) {
+        // Note: NaN is propagated
+        return scale == 0 ? sum : Double.POSITIVE_INFINITY * sum;
+      }
+      // Divide the scales and sums separately to avoid overflow of the norms
+      return (factor / other.factor) * (scale / other.scale) * Math.sqrt(sum / other.sum);
+    }
+  }
+
+  /**
+   * Compute the relative Euclidean (L2) norm of the difference:
+   *
+   * <pre>
+   * ||values2 - values1|| / ||values1||
+   * </pre>
+   *
+   * <p>If {@code values1} has a norm of zero the result is zero if the arrays are equal;
+   * otherwise infinity. If both norms are infinite the result is NaN. NaN values generate a NaN
+   * result.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @return the relative error
+   */
+  static double relativeL2Error(double[] values1, double[] values2) {
+    final ScaledSumOfSquares reference = new ScaledSumOfSquares();
+    final ScaledSumOfSquares difference = new ScaledSumOfSquares();
+    for (int i = 0; i < values1.length; i++) {
+      final double value = values1[i];
+      reference.add(value);
+      difference.addDifference(value, values2[i]);
+    }
+    return difference.ratio(reference);
+  }
+
+  /**
+   * Compute the relative Euclidean (L2) norm of the difference:
+   *
+   * <pre>
+   * ||values2 - values1|| / ||values1||
+   * </pre>
+   *
+   * <p>If {@code values1} has a norm of zero the result is zero if the arrays are equal;
+   * otherwise infinity. If both norms are infinite the result is NaN. NaN values generate a NaN
+   * result.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @return the relative error
+   */
+  static double relativeL2Error(float[] values1, float[] values2) {
+    final ScaledSumOfSquares reference = new ScaledSumOfSquares();
+    final ScaledSumOfSquares difference = new ScaledSumOfSquares();
+    for (int i = 0; i < values1.length; i++) {
+      final double value = values1[i];
+      reference.add(value);
+      // Exact in double precision
+      difference.add(values2[i] - value);
+    }
+    return difference.ratio(reference);
+  }
+
+  /**
+   * Compute the maximum (L-infinity) norm of the difference:
+   *
+   * <pre>
+   * max(|values2 - values1|)
+   * </pre>
+   *
+   * <p>NaN values generate a NaN result.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @return the error
+   */
+  static double maxNormError(double[] values1, double[] values2) {
+    double max = 0;
+    for (int i = 0; i < values1.length; i++) {
+      final double abs = Math.abs(values2[i] - values1[i]);
+      // Note: Math.max propagates NaN
+      max = Math.max(max, abs);
+    }
+    return max;
+  }
+
+  /**
+   * Compute the maximum (L-infinity) norm of the difference:
+   *
+   * <pre>
+   * max(|values2 - values1|)
+   * </pre>
+   *
+   * <p>NaN values generate a NaN result.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @return the error
+   */
+  static double maxNormError(float[] values1, float[] values2) {
+    double max = 0;
+    for (int i = 0; i < values1.length; i++) {
+      // Exact in double precision
+      final double abs = Math.abs((double) values2[i] - values1[i]);
+      max = Math.max(max, abs);
+    }
+    return max;
+  }
+
+  /**
+   * Compute the root mean square (RMS) of the difference:
+   *
+   * <pre>
+   * ||values2 - values1|| / sqrt(n)
+   * </pre>
+   *
+   * <p>The error of empty arrays is zero. NaN values generate a NaN result.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @return the error
+   */
+  static double rmsError(double[] values1, double[] values2) {
+    final ScaledSumOfSquares difference = new ScaledSumOfSquares();
+    for (int i = 0; i < values1.length; i++) {
+      difference.addDifference(values1[i], values2[i]);
+    }
+    return rms(difference, values1.length);
+  }
+
+  /**
+   * Compute the root mean square (RMS) of the difference:
+   *
+   * <pre>
+   * ||values2 - values1|| / sqrt(n)
+   * </pre>
+   *
+   * <p>The error of empty arrays is zero. NaN values generate a NaN result.
+   *
+   * @param values1 the first values
+   * @param values2 the second values
+   * @return the error
+   */
+  static double rmsError(float[] values1, float[] values2) {
+    final ScaledSumOfSquares difference = new ScaledSumOfSquares();
+    for (int i = 0; i < values1.length; i++) {
+      // Exact in double precision
+      difference.add((double) values2[i] - values1[i]);
+    }
+    return rms(difference, values1.length);
+  }
+
+  /**
+   * Compute the root mean square (RMS) from the sum of squares.
+   *
+   * @param sum the sum of squares
+   * @param length the number of values
+   * @return the RMS
+   */
+  private static double rms(ScaledSumOfSquares sum, int length) {
+    if (length == 0) {
+      return 0;
+    }
+    // Divide the sum before scaling to avoid overflow of the norm
+    return sum.factor * (sum.scale * Math.sqrt(sum.sum / length));
+  }
+}
@@ -73,6 +73,55 @@ final class NumberEquality {
     }
   }
 
+  /**
+   * Check the lengths of the input arrays are equal and the output array is large enough to
+   * store a result for each input element.
+   *
+   * @param length1 the length of the first array
+   * @param length2 the length of the second array
+   * @param outputLength the length of the output array
+   * @throws IllegalArgumentException if the input lengths differ or the output is too small
+   */
+  static void validateLengths(int length1, int length2, int outputLength) {
+    if (length1 != length2) {
+      throw new IllegalArgumentException("Array lengths differ: " + length1 + " != " + length2);
+    }
+    if (outputLength < length1) {
+      throw new IllegalArgumentException(
+          "Output length must be at least " + length1 + " but was: " + outputLength);
+    }
+  }
+
+  /**
+   * Check the lengths of the input arrays are equal and the histogram is not empty.
+   *
+   * @param length1 the length of the first array
+   * @param length2 the length of the second array
+   * @param histogramLength the length of the histogram
+   * @throws IllegalArgumentException if the input lengths differ or the histogram is empty
+   */
+  static void validateHistogramLengths(int length1, int length2, int histogramLength) {
+    if (length1 != length2) {
+      throw new IllegalArgumentException("Array lengths differ: " + length1 + " != " + length2);
+    }
+    if (histogramLength == 0) {
+      throw new IllegalArgumentException("Histogram length must be positive but was: 0");
+    }
+  }
+
+  /**
+   * Gets the log2 histogram bucket for the unsigned ULP distance. Bucket 0 is a distance of
+   * zero; bucket {@code k} holds distances in {@code [2^(k-1), 2^k)}. Distances beyond the last
+   * bucket are clipped to the last bucket.
+   *
+   * @param distance the distance (unsigned)
+   * @param last the index of the last bucket
+   * @return the bucket
+   */
+  static int ulpHistogramBucket(long distance, int last) {
+    return Math.min(Long.SIZE - Long.numberOfLeadingZeros(distance), last);
+  }
+
   /**
    * Validate the symmetric relative error threshold. The relative error is computed using:
    *
@@ -106,6 +155,18 @@ final class NumberEquality {
     }
   }
 
+  /**
+   * Validate the error threshold of a norm of the difference between two arrays.
+   *
+   * @param error the maximum error
+   * @throws IllegalArgumentException if the error is not positive finite
+   */
+  static void validateNormError(double error) {
+    if (negativeOrNaN(error) || error == Double.POSITIVE_INFINITY) {
+      throw new IllegalArgumentException("Norm error must be positive finite: " + error);
+    }
+  }
+
   /**
    * Test if negative or NaN.
    *
@@ -163,6 +224,28 @@ final class NumberEquality {
     return delta <= Math.max(Math.abs(value1), Math.abs(value2)) * relativeError;
   }
 
+  /**
+   * Tests that two short/bytes are close using a relative error. The relative error between values
+   * {@code value1} and {@code value2} is relative to the largest magnitude of the two values.
+   *
+   * <p>This is to be used when values are from byte or short primitives as no overflow issues are
+   * handled.
+   *
+   * <p>The error is assumed to be positive.
+   *
+   * @param value1 the first value
+   * @param value2 the second value
+   * @param relativeError the maximum relative error between {@code value1} and {@code value2} for
+   *        which both numbers are still considered equal.
+   * @return true if close
+   */
+  static boolean shortsOrBytesTestAreRelativelyClose(int value1, int value2,
+      double relativeError) {
+    final int delta = (value1 > value2) ? value1 - value2 : value2 - value1;
+    // Compute using double precision.
+    return delta <= Math.max(Math.abs(value1), Math.abs(value2)) * relativeError;
+  }
+
   /**
    * Tests a short/byte value is close to an expected value. The relative error between values
    * {@code expected} and {@code actual} is relative to the magnitude of {@code expected}.
@@ -161,6 +161,26 @@ public final class ShortEquality {
     return NumberEquality.shortsOrBytesTestAreClose(value1, value2, relativeError, absoluteError);
   }
 
+  /**
+   * Tests that two shorts are close using a relative error. The relative error between values
+   * {@code value1} and {@code value2} is relative to the largest magnitude of the two values.
+   *
+   * <p>This is equivalent to
+   * {@link #testAreClose(short, short, double, int)} using an absolute error of zero.
+   *
+   * <p>It is assumed the error has been validated with
+   * {@link NumberEquality#validateSymmetricRelativeError(double)}.
+   *
+   * @param value1 the first value
+   * @param value2 the second value
+   * @param relativeError the maximum relative error between {@code value1} and {@code value2} for
+   *        which both numbers are still considered equal.
+   * @return true if close
+   */
+  static boolean testAreRelativelyClose(short value1, short value2, double relativeError) {
+    return NumberEquality.shortsOrBytesTestAreRelativelyClose(value1, value2, relativeError);
+  }
+
   /**
    * Tests that an short is close to an expected value. The relative error between values
    * {@code expected} and {@code actual} is relative to the magnitude of {@code expected} and the
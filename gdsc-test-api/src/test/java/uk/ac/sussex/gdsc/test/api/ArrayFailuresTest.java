@@ -0,0 +1,151 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("javadoc")
+class ArrayFailuresTest {
+  @Test
+  void testMaxIndices() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new ArrayFailures(-1));
+    final String message = Assertions.assertThrows(IllegalArgumentException.class,
+        () -> ArrayFailures.validateMaxIndices(-1)).getMessage();
+    Assertions.assertTrue(message.contains("must not be negative"), message);
+    // Zero records only the count
+    ArrayFailures.validateMaxIndices(0);
+    final ArrayFailures f = new ArrayFailures(0);
+    f.add(3);
+    f.add(7);
+    Assertions.assertEquals(2, f.getCount());
+    Assertions.assertEquals("Failed at 2 of 10 indices [...]",
+        f.toString(null, "Failed", 10, null, null, null));
+  }
+
+  @Test
+  void testIndices() {
+    final ArrayFailures f = new ArrayFailures(3);
+    Assertions.assertEquals(0, f.getCount());
+    Assertions.assertEquals("Failed at 0 of 10 indices []",
+        f.toString(null, "Failed", 10, null, null, null));
+    f.add(1);
+    Assertions.assertEquals("msg ==> Failed at 1 of 10 indices [1]",
+        f.toString("msg", "Failed", 10, null, null, null));
+    f.add(2);
+    f.add(5);
+    Assertions.assertEquals(3, f.getCount());
+    Assertions.assertEquals("Failed at 3 of 10 indices [1, 2, 5]",
+        f.toString(null, "Failed", 10, null, null, null));
+    f.add(6);
+    Assertions.assertEquals(4, f.getCount());
+    Assertions.assertEquals("Failed at 4 of 10 indices [1, 2, 5, ...]. description",
+        f.toString(null, "Failed", 10, null, null, (Supplier<String>) () -> "description"));
+  }
+
+  @Test
+  void testBoolean() {
+    final boolean[] e = {true, false};
+    final boolean[] a = {false, true};
+    final ArrayFailures f = new ArrayFailures(3);
+    f.add(0, e[0], a[0]);
+    f.add(1, e[1], a[1]);
+    Assertions.assertEquals("Failed at 2 of 2 indices [0, 1]",
+        f.toString(null, "Failed", 2, i -> String.valueOf(e[i]), i -> String.valueOf(a[i]), null));
+  }
+
+  @Test
+  void testLong() {
+    final long[] e = {1, 10, 100, Long.MIN_VALUE};
+    final long[] a = {2, 13, 102, Long.MAX_VALUE};
+    final ArrayFailures f = new ArrayFailures(3);
+    for (int i = 0; i < 3; i++) {
+      f.add(i, e[i], a[i]);
+    }
+    Assertions.assertEquals("Failed at 3 of 4 indices [0, 1, 2]"
+        + ", max absolute error 3.0 at index [1], expected: <10>, actual: <13>"
+        + ", max relative error 0.5 at index [0], expected: <1>, actual: <2>",
+        f.toString(null, "Failed", 4, format(e), format(a), null));
+    // No overflow
+    f.add(3, e[3], a[3]);
+    Assertions.assertEquals("Failed at 4 of 4 indices [0, 1, 2, ...]"
+        + ", max absolute error 1.8446744073709552E19 at index [3]"
+        + ", expected: <-9223372036854775808>, actual: <9223372036854775807>"
+        + ", max relative error 2.0 at index [3]"
+        + ", expected: <-9223372036854775808>, actual: <9223372036854775807>",
+        f.toString(null, "Failed", 4, format(e), format(a), null));
+  }
+
+  @Test
+  void testFloat() {
+    final float[] e = {1, 0.0f, 100, -0.0f, Float.NaN};
+    final float[] a = {Math.nextUp(1f), -0.0f, 101, Float.MIN_VALUE, 1};
+    final ArrayFailures f = new ArrayFailures(5);
+    for (int i = 0; i < 4; i++) {
+      f.add(i, e[i], a[i]);
+    }
+    Assertions.assertEquals("Failed at 4 of 5 indices [0, 1, 2, 3]"
+        + ", max absolute error 1.0 at index [2], expected: <100.0>, actual: <101.0>"
+        + ", max relative error 1.0 at index [3], expected: <-0.0>, actual: <1.4E-45>"
+        + ", max ULP error 131072 at index [2], expected: <100.0>, actual: <101.0>",
+        f.toString(null, "Failed", 5, format(e), format(a), null));
+    // NaN is the worst error
+    f.add(4, e[4], a[4]);
+    final String msg = f.toString(null, "Failed", 5, format(e), format(a), null);
+    Assertions.assertTrue(msg.contains("max absolute error NaN at index [4]"), msg);
+    Assertions.assertTrue(msg.contains("max relative error NaN at index [4]"), msg);
+    Assertions.assertTrue(msg.contains("max ULP error 1077936128 at index [4]"), msg);
+  }
+
+  @Test
+  void testDouble() {
+    final double[] e = {1, 0.0, -Double.MAX_VALUE, 5};
+    final double[] a = {Math.nextDown(1.0), -Double.MIN_VALUE, Double.MAX_VALUE, 5.5};
+    final ArrayFailures f = new ArrayFailures(5);
+    for (int i = 0; i < e.length; i++) {
+      f.add(i, e[i], a[i]);
+    }
+    final String msg = f.toString(null, "Failed", 5, format(e), format(a), null);
+    Assertions.assertTrue(msg.startsWith("Failed at 4 of 5 indices [0, 1, 2, 3]"), msg);
+    Assertions.assertTrue(msg.contains("max absolute error Infinity at index [2]"), msg);
+    Assertions.assertTrue(msg.contains("max relative error Infinity at index [2]"), msg);
+    // Opposite signs for the largest magnitude is an unsigned 64-bit ULP distance
+    Assertions.assertTrue(msg.contains("max ULP error "
+        + Long.toUnsignedString(2 * Double.doubleToLongBits(Double.MAX_VALUE))
+        + " at index [2]"), msg);
+  }
+
+  private static IntFunction<String> format(long[] values) {
+    return i -> String.valueOf(values[i]);
+  }
+
+  private static IntFunction<String> format(float[] values) {
+    return i -> String.valueOf(values[i]);
+  }
+
+  private static IntFunction<String> format(double[] values) {
+    return i -> String.valueOf(values[i]);
+  }
+}
@@ -85,4 +85,46 @@ class IndicesTest {
     i.pop();
     Assertions.assertEquals("[1]", i.toString());
   }
+
+  @Test
+  void testAcquireRelease() {
+    final Indices i1 = Indices.acquire();
+    Assertions.assertTrue(i1.isEmpty());
+    i1.push(1);
+    // In use: a new instance is returned
+    final Indices i2 = Indices.acquire();
+    Assertions.assertNotSame(i1, i2);
+    Assertions.assertTrue(i2.isEmpty());
+    i2.release();
+    i1.release();
+    Assertions.assertTrue(i1.isEmpty());
+    // Reused
+    final Indices i3 = Indices.acquire();
+    Assertions.assertSame(i1, i3);
+    i3.release();
+  }
+
+  @Test
+  void testCopyOf() {
+    Assertions.assertEquals(0, Indices.copyOf(null).size());
+    final Indices i = new Indices();
+    Assertions.assertEquals(0, Indices.copyOf(i).size());
+    i.push(3);
+    i.push(7);
+    final Indices copy = Indices.copyOf(i);
+    Assertions.assertArrayEquals(new int[] {3, 7}, copy.toArray());
+    Assertions.assertEquals("[3][7]", copy.toString());
+    // Independent of the original
+    copy.push(9);
+    i.pop();
+    Assertions.assertArrayEquals(new int[] {3, 7, 9}, copy.toArray());
+    Assertions.assertArrayEquals(new int[] {3}, i.toArray());
+  }
+
+  @Test
+  void testOfLong() {
+    Assertions.assertArrayEquals(new int[] {0}, Indices.of(0));
+    Assertions.assertArrayEquals(new int[] {Integer.MAX_VALUE}, Indices.of(Integer.MAX_VALUE));
+    Assertions.assertNull(Indices.of(1L + Integer.MAX_VALUE));
+  }
 }
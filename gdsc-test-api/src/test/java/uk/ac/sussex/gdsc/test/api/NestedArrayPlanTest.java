@@ -0,0 +1,185 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import uk.ac.sussex.gdsc.test.api.function.DoubleDoubleBiPredicate;
+import uk.ac.sussex.gdsc.test.api.function.IntPredicate;
+
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+@SuppressWarnings("javadoc")
+class NestedArrayPlanTest {
+  @Test
+  void testPlan() {
+    assertPlan(double[][].class, 1, double[].class);
+    assertPlan(int[][][].class, 2, int[].class);
+    assertPlan(boolean[][][][].class, 3, boolean[].class);
+    assertPlan(Object[].class, 0, null);
+    assertPlan(Object[][].class, 0, null);
+    assertPlan(String[].class, 0, null);
+    assertPlan(double[].class, 0, null);
+    Assertions.assertSame(NestedArrayPlan.of(double[][].class),
+        NestedArrayPlan.of(double[][].class));
+  }
+
+  private static void assertPlan(Class<?> type, int depth, Class<?> leafType) {
+    final NestedArrayPlan plan = NestedArrayPlan.of(type);
+    Assertions.assertEquals(depth, plan.getDepth(), "depth");
+    Assertions.assertEquals(leafType, plan.getLeafType(), "leaf type");
+  }
+
+  @Test
+  void testCursor() {
+    final NestedArrayPlan.Cursor c1 = NestedArrayPlan.Cursor.acquire(2);
+    final NestedArrayPlan.Cursor c2 = NestedArrayPlan.Cursor.acquire(10);
+    Assertions.assertNotSame(c1, c2);
+    Assertions.assertTrue(c2.index.length >= 10);
+    c1.index[0] = 3;
+    c1.index[1] = 5;
+    final Indices indices = new Indices();
+    c1.pushIndices(1, indices);
+    Assertions.assertEquals("[3][5]", indices.toString());
+    c1.arrays1[0] = new Object[0];
+    c2.release();
+    c1.release();
+    Assertions.assertNull(c1.arrays1[0]);
+    Assertions.assertSame(c1, NestedArrayPlan.Cursor.acquire(1));
+    c1.release();
+  }
+
+  /**
+   * Test the nested array traversal reports the same failure as the generic recursive traversal.
+   * The generic traversal is used when the two arrays are not the same type.
+   */
+  @Test
+  void testNestedArrayFailures() {
+    final DoubleDoubleBiPredicate test = Predicates.doublesAreEqual();
+    final double[][][] expected = {
+        {{1, 2}, {3}}, {{4, 5, 6}}, {}, {{7}, {8, 9}, {10}},
+    };
+    TestAssertions.assertArrayTest(expected, copy(expected), test);
+
+    double[][][] actual = copy(expected);
+    actual[3][1][1] = -1;
+    assertSameFailure(expected, actual, test);
+    actual[1][0][2] = -1;
+    assertSameFailure(expected, actual, test);
+    // Length failure after a content failure
+    actual[3][2] = new double[2];
+    assertSameFailure(expected, actual, test);
+    // Length failure before a content failure
+    actual = copy(expected);
+    actual[3][1][1] = -1;
+    actual[0][1] = new double[2];
+    assertSameFailure(expected, actual, test);
+    // Null leaf
+    actual = copy(expected);
+    actual[1][0] = null;
+    assertSameFailure(expected, actual, test);
+    // Null sub-array
+    actual = copy(expected);
+    actual[3] = null;
+    assertSameFailure(expected, actual, test);
+    actual[3] = new double[2][];
+    assertSameFailure(expected, actual, test);
+    actual = copy(expected);
+    actual[0][0] = null;
+    assertSameFailure(actual, expected, test);
+    // Invalid predicate
+    final String message = Assertions.assertThrows(AssertionError.class,
+        () -> TestAssertions.assertArrayTest(expected, copy(expected),
+            Predicates.intsAreEqual())).getMessage();
+    Assertions.assertTrue(message.contains("Invalid predicate"), message);
+  }
+
+  @Test
+  void testNestedArrayFailure() {
+    final IntPredicate test = v -> v < 10;
+    final int[][][] value = {
+        {{1, 2}, {3}}, {{4, 5, 6}}, {}, {{7}, {8, 9}, {1}},
+    };
+    TestAssertions.assertArrayTest(value, test);
+    TestAssertions.assertArrayTest(value, test, "message");
+    TestAssertions.assertArrayTest(value, test, () -> "message");
+    value[3][1][1] = 10;
+    assertFailure(() -> TestAssertions.assertArrayTest(value, test),
+        "Array content fails at index [3][1][1], value: <10>");
+    value[1][0][2] = 42;
+    assertFailure(() -> TestAssertions.assertArrayTest(value, test, "message"),
+        "message ==> Array content fails at index [1][0][2], value: <42>");
+    value[1][0] = null;
+    assertFailure(() -> TestAssertions.assertArrayTest(value, test),
+        "Non-array type at index [1][0]");
+    value[0] = null;
+    assertFailure(() -> TestAssertions.assertArrayTest(value, test),
+        "Non-array type at index [0]");
+  }
+
+  private static void assertFailure(Executable executable, String expected) {
+    final String message = Assertions.assertThrows(AssertionError.class, executable).getMessage();
+    Assertions.assertTrue(message.startsWith(expected), () -> message + " != " + expected);
+  }
+
+  /**
+   * Assert the failure message is the same using the same array type and different array types.
+   */
+  private static void assertSameFailure(double[][][] expected, double[][][] actual,
+      DoubleDoubleBiPredicate test) {
+    final Supplier<String> message = () -> "msg";
+    final String m1 = assertThrows(() -> TestAssertions.assertArrayTest(expected, actual, test,
+        message));
+    final String m2 = assertThrows(() -> TestAssertions.assertArrayTest(expected,
+        toObjectArray(actual), test, message));
+    Assertions.assertEquals(m2, m1);
+  }
+
+  private static String assertThrows(Executable executable) {
+    return Assertions.assertThrows(AssertionError.class, executable).getMessage();
+  }
+
+  private static double[][][] copy(double[][][] array) {
+    final double[][][] copy = new double[array.length][][];
+    for (int i = 0; i < array.length; i++) {
+      copy[i] = new double[array[i].length][];
+      for (int j = 0; j < array[i].length; j++) {
+        copy[i][j] = array[i][j].clone();
+      }
+    }
+    return copy;
+  }
+
+  private static Object[] toObjectArray(double[][][] array) {
+    final Object[] copy = new Object[array.length];
+    for (int i = 0; i < array.length; i++) {
+      if (array[i] != null) {
+        final Object[] sub = new Object[array[i].length];
+        System.arraycopy(array[i], 0, sub, 0, sub.length);
+        copy[i] = sub;
+      }
+    }
+    return copy;
+  }
+}
@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("javadoc")
+class ParallelIndexSearchTest {
+
+  @Test
+  void testFirstFailureNoFailure() {
+    Assertions.assertEquals(-1, ParallelIndexSearch.firstFailure(1000, 10, (from, to) -> -1));
+    Assertions.assertEquals(-1, ParallelIndexSearch.firstFailure(0, 10, (from, to) -> -1));
+  }
+
+  @Test
+  void testFirstFailureSearchesNonEmptyRanges() {
+    // Every chunk fails at its first index so the result is lowered concurrently while
+    // other tasks are starting. No search must be given an empty or inverted range.
+    final AtomicBoolean invalid = new AtomicBoolean();
+    for (int i = 0; i < 200; i++) {
+      final int index = ParallelIndexSearch.firstFailure(100000, 1, (from, to) -> {
+        if (from >= to) {
+          invalid.set(true);
+        }
+        return from;
+      });
+      Assertions.assertEquals(0, index);
+    }
+    Assertions.assertFalse(invalid.get(), "Search of an empty or inverted range");
+  }
+
+  @Test
+  void testFirstFailureReturnsLowestIndex() {
+    final int length = 100000;
+    for (final int failure : new int[] {0, 1, 12345, length - 1}) {
+      final int index = ParallelIndexSearch.firstFailure(length, 100, (from, to) -> {
+        for (int i = from; i < to; i++) {
+          // Fail at and after the failure index
+          if (i >= failure) {
+            return i;
+          }
+        }
+        return -1;
+      });
+      Assertions.assertEquals(failure, index);
+    }
+  }
+}
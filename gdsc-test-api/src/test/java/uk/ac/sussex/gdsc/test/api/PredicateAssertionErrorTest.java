@@ -0,0 +1,207 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import uk.ac.sussex.gdsc.test.api.function.DoubleDoubleBiPredicate;
+import uk.ac.sussex.gdsc.test.api.function.IntPredicate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("javadoc")
+class PredicateAssertionErrorTest {
+  @Test
+  void testProperties() {
+    final int[] indices = {1, 2};
+    final Object predicate = new Object();
+    final PredicateAssertionError error =
+        new PredicateAssertionError(1.0, 2.0, indices, predicate, () -> "message");
+    Assertions.assertEquals(1.0, error.getExpected());
+    Assertions.assertEquals(2.0, error.getActual());
+    Assertions.assertArrayEquals(indices, error.getIndices());
+    Assertions.assertNotSame(indices, error.getIndices());
+    Assertions.assertSame(predicate, error.getPredicate());
+    Assertions.assertEquals("message", error.getMessage());
+
+    final PredicateAssertionError error2 =
+        new PredicateAssertionError(null, 2, null, predicate, () -> null);
+    Assertions.assertNull(error2.getExpected());
+    Assertions.assertArrayEquals(new int[0], error2.getIndices());
+    Assertions.assertNull(error2.getMessage());
+  }
+
+  @Test
+  void testMessageIsLazy() {
+    final AtomicInteger count = new AtomicInteger();
+    final PredicateAssertionError error = new PredicateAssertionError(1, 2, null, null,
+        () -> "message" + count.incrementAndGet());
+    Assertions.assertEquals(0, count.get());
+    Assertions.assertEquals("message1", error.getMessage());
+    Assertions.assertEquals("message1", error.getMessage());
+    Assertions.assertTrue(error.toString().contains("message1"));
+    Assertions.assertEquals(1, count.get());
+  }
+
+  @Test
+  void testMessageIsVisibleToConcurrentReaders() throws InterruptedException {
+    // Each reader must see the message if another thread builds it during the read
+    for (int n = 0; n < 100; n++) {
+      final PredicateAssertionError error =
+          new PredicateAssertionError(1, 2, null, null, () -> "message");
+      final CountDownLatch start = new CountDownLatch(1);
+      final String[] messages = new String[4];
+      final Thread[] threads = new Thread[messages.length];
+      for (int i = 0; i < threads.length; i++) {
+        final int index = i;
+        threads[i] = new Thread(() -> {
+          try {
+            start.await();
+          } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+          messages[index] = error.getMessage();
+        });
+        threads[i].start();
+      }
+      start.countDown();
+      for (final Thread thread : threads) {
+        thread.join();
+      }
+      for (final String message : messages) {
+        Assertions.assertEquals("message", message);
+      }
+    }
+  }
+
+  @Test
+  void testStackTrace() {
+    final PredicateAssertionError error1 =
+        new PredicateAssertionError(1, 2, null, null, () -> "message", true);
+    final StackTraceElement[] trace = error1.getStackTrace();
+    Assertions.assertNotEquals(0, trace.length);
+    Assertions.assertEquals("testStackTrace", trace[0].getMethodName());
+
+    final PredicateAssertionError error2 =
+        new PredicateAssertionError(1, 2, null, null, () -> "message", false);
+    Assertions.assertEquals(0, error2.getStackTrace().length);
+    Assertions.assertSame(error2, error2.fillInStackTrace());
+    Assertions.assertEquals(0, error2.getStackTrace().length);
+  }
+
+  @Test
+  void testStackTraceEnabled() {
+    Assertions.assertTrue(PredicateAssertionError.isStackTraceEnabled());
+    final int[] otherThread = {-1};
+    PredicateAssertionError.runWithoutStackTrace(() -> {
+      Assertions.assertFalse(PredicateAssertionError.isStackTraceEnabled());
+      Assertions.assertEquals(0,
+          new PredicateAssertionError(1, 2, null, null, () -> "").getStackTrace().length);
+      // Nested scope
+      PredicateAssertionError.runWithoutStackTrace(
+          () -> Assertions.assertFalse(PredicateAssertionError.isStackTraceEnabled()));
+      Assertions.assertFalse(PredicateAssertionError.isStackTraceEnabled());
+      // Other threads are not affected
+      final Thread t = new Thread(() -> otherThread[0] =
+          new PredicateAssertionError(1, 2, null, null, () -> "").getStackTrace().length);
+      t.start();
+      try {
+        t.join();
+      } catch (final InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new AssertionError(ex);
+      }
+    });
+    Assertions.assertNotEquals(0, otherThread[0]);
+    Assertions.assertTrue(PredicateAssertionError.isStackTraceEnabled());
+    Assertions.assertNotEquals(0,
+        new PredicateAssertionError(1, 2, null, null, () -> "").getStackTrace().length);
+    // The setting is restored if the action fails
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> PredicateAssertionError.runWithoutStackTrace(() -> {
+          throw new IllegalStateException();
+        }));
+    Assertions.assertTrue(PredicateAssertionError.isStackTraceEnabled());
+  }
+
+  @Test
+  void testSerialization() throws IOException, ClassNotFoundException {
+    final PredicateAssertionError error = new PredicateAssertionError(1, 2, new int[] {3}, null,
+        () -> "message");
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+      oos.writeObject(error);
+    }
+    try (ObjectInputStream ois =
+        new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+      final PredicateAssertionError error2 = (PredicateAssertionError) ois.readObject();
+      Assertions.assertEquals("message", error2.getMessage());
+      Assertions.assertArrayEquals(new int[] {3}, error2.getIndices());
+      Assertions.assertNull(error2.getActual());
+    }
+  }
+
+  @Test
+  void testAssertTestThrows() {
+    final DoubleDoubleBiPredicate test = Predicates.doublesAreClose(1e-3, 0);
+    final PredicateAssertionError error = Assertions.assertThrows(PredicateAssertionError.class,
+        () -> TestAssertions.assertTest(1.0, 2.0, test, "message"));
+    Assertions.assertEquals(1.0, error.getExpected());
+    Assertions.assertEquals(2.0, error.getActual());
+    Assertions.assertSame(test, error.getPredicate());
+    Assertions.assertEquals(0, error.getIndices().length);
+    Assertions.assertTrue(error.getMessage().startsWith("message"));
+  }
+
+  @Test
+  void testAssertArrayTestThrows() {
+    final int[][] value = {{0, 0}, {0, 0, 1}};
+    final IntPredicate test = Predicates.intIsEqualTo(0);
+    final PredicateAssertionError error = Assertions.assertThrows(PredicateAssertionError.class,
+        () -> TestAssertions.assertArrayTest(value, test));
+    Assertions.assertNull(error.getExpected());
+    Assertions.assertEquals(1, error.getActual());
+    Assertions.assertArrayEquals(new int[] {1, 2}, error.getIndices());
+    Assertions.assertTrue(error.getMessage().contains("at index [1][2]"), error::getMessage);
+  }
+
+  @Test
+  void testAssertArrayTestThrowsWithStatistics() {
+    final double[] expected = {1, 2, 3};
+    final double[] actual = {1, 2, 4};
+    final DoubleDoubleBiPredicate test = Predicates.doublesAreClose(1e-3, 0);
+    final PredicateAssertionError error = Assertions.assertThrows(PredicateAssertionError.class,
+        () -> TestAssertions.assertArrayTest(expected, actual, test));
+    Assertions.assertEquals(3.0, error.getExpected());
+    Assertions.assertEquals(4.0, error.getActual());
+    Assertions.assertArrayEquals(new int[] {2}, error.getIndices());
+    Assertions.assertTrue(error.getMessage().contains("at index [2]"), error::getMessage);
+    Assertions.assertTrue(error.getMessage().contains("mismatches 1 of 3"), error::getMessage);
+  }
+}
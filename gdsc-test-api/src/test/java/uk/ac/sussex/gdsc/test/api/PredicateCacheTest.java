@@ -0,0 +1,85 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import uk.ac.sussex.gdsc.test.api.comparisons.ComparisonDescriptor;
+import uk.ac.sussex.gdsc.test.api.comparisons.ComparisonKind;
+import uk.ac.sussex.gdsc.test.api.comparisons.DoubleDoubleAreRelativelyClose;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("javadoc")
+class PredicateCacheTest {
+  @Test
+  void testBadBits() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new PredicateCache(0));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new PredicateCache(17));
+    Assertions.assertEquals(2, new PredicateCache(1).capacity());
+    Assertions.assertEquals(1 << 16, new PredicateCache(16).capacity());
+  }
+
+  @Test
+  void testGetPut() {
+    final PredicateCache cache = new PredicateCache(4);
+    final ComparisonDescriptor value = () -> ComparisonKind.CLOSE;
+    Assertions.assertNull(cache.get(ComparisonKind.CLOSE, 1, 2, 3));
+    cache.put(1, 2, 3, value);
+    Assertions.assertSame(value, cache.get(ComparisonKind.CLOSE, 1, 2, 3));
+    // Any key difference is a miss
+    Assertions.assertNull(cache.get(ComparisonKind.ULP_CLOSE, 1, 2, 3));
+    Assertions.assertNull(cache.get(ComparisonKind.CLOSE, 0, 2, 3));
+    Assertions.assertNull(cache.get(ComparisonKind.CLOSE, 1, 0, 3));
+    Assertions.assertNull(cache.get(ComparisonKind.CLOSE, 1, 2, 0));
+  }
+
+  @Test
+  void testCapacityIsBounded() {
+    final PredicateCache cache = new PredicateCache(2);
+    final ComparisonDescriptor[] values = new ComparisonDescriptor[100];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = new DoubleDoubleAreRelativelyClose(1e-3 * (i + 1));
+      cache.put(0, i, 0, values[i]);
+    }
+    // The most recent value is always present
+    Assertions.assertSame(values[99], cache.get(ComparisonKind.RELATIVELY_CLOSE, 0, 99, 0));
+    int count = 0;
+    for (int i = 0; i < values.length; i++) {
+      final ComparisonDescriptor value = cache.get(ComparisonKind.RELATIVELY_CLOSE, 0, i, 0);
+      if (value != null) {
+        Assertions.assertSame(values[i], value);
+        count++;
+      }
+    }
+    Assertions.assertTrue(count <= cache.capacity());
+  }
+
+  @Test
+  void testKey() {
+    Assertions.assertEquals(Double.doubleToLongBits(1.5), PredicateCache.key(1.5));
+    Assertions.assertNotEquals(PredicateCache.key(0.0), PredicateCache.key(-0.0));
+    Assertions.assertEquals(Float.floatToIntBits(1.5f), PredicateCache.key(1.5f));
+    Assertions.assertEquals(42L, PredicateCache.key(42L));
+    Assertions.assertEquals(42L, PredicateCache.key(42));
+  }
+}
@@ -0,0 +1,81 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("javadoc")
+class PrimitiveMultisetTest {
+  @Test
+  void testKeys() {
+    Assertions.assertEquals(42, PrimitiveMultiset.key(42L));
+    Assertions.assertEquals(1, PrimitiveMultiset.key(true));
+    Assertions.assertEquals(0, PrimitiveMultiset.key(false));
+    // Consistent with equals
+    Assertions.assertNotEquals(PrimitiveMultiset.key(0.0), PrimitiveMultiset.key(-0.0));
+    Assertions.assertNotEquals(PrimitiveMultiset.key(0.0f), PrimitiveMultiset.key(-0.0f));
+    Assertions.assertEquals(PrimitiveMultiset.key(Double.NaN),
+        PrimitiveMultiset.key(Double.longBitsToDouble(0x7ff0000000000001L)));
+    Assertions.assertEquals(PrimitiveMultiset.key(Float.NaN),
+        PrimitiveMultiset.key(Float.intBitsToFloat(0x7f800001)));
+  }
+
+  @Test
+  void testAddRemove() {
+    final PrimitiveMultiset set = new PrimitiveMultiset(5);
+    for (final long key : new long[] {3, 1, 2, 1, 0}) {
+      set.add(key);
+    }
+    Assertions.assertFalse(set.remove(4));
+    Assertions.assertTrue(set.remove(1));
+    Assertions.assertTrue(set.remove(1));
+    Assertions.assertFalse(set.remove(1));
+    Assertions.assertTrue(set.remove(0));
+    Assertions.assertTrue(set.remove(2));
+    Assertions.assertTrue(set.remove(3));
+    Assertions.assertFalse(set.remove(3));
+  }
+
+  @Test
+  void testAddRemoveWithCollisions() {
+    // Keys that differ only in the upper bits. These all collide with a poor hash function.
+    final int size = 1000;
+    final PrimitiveMultiset set = new PrimitiveMultiset(size);
+    for (int i = 0; i < size; i++) {
+      set.add((long) i << 40);
+    }
+    for (int i = size; i-- > 0;) {
+      Assertions.assertTrue(set.remove((long) i << 40));
+      Assertions.assertFalse(set.remove((long) i << 40));
+    }
+    Assertions.assertFalse(set.remove(0));
+  }
+
+  @Test
+  void testEmpty() {
+    final PrimitiveMultiset set = new PrimitiveMultiset(0);
+    Assertions.assertFalse(set.remove(0));
+    Assertions.assertFalse(set.remove(Long.MIN_VALUE));
+  }
+}
@@ -0,0 +1,101 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import uk.ac.sussex.gdsc.test.api.function.DoubleDoubleBiPredicate;
+import uk.ac.sussex.gdsc.test.api.function.IntPredicate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the successful assertion of nested arrays does not allocate memory.
+ */
+@SuppressWarnings("javadoc")
+class TestArrayAssertionsAllocationTest {
+  /** The number of repeats of the assertion. */
+  private static final int REPEATS = 10000;
+
+  /**
+   * Get the thread MX bean if it supports measuring the thread allocated bytes.
+   *
+   * @return the bean
+   */
+  private static com.sun.management.ThreadMXBean getThreadMxBean() {
+    final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean,
+        "Thread allocated bytes is not supported");
+    final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+    Assumptions.assumeTrue(sunBean.isThreadAllocatedMemorySupported(),
+        "Thread allocated bytes is not supported");
+    if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+      sunBean.setThreadAllocatedMemoryEnabled(true);
+    }
+    return sunBean;
+  }
+
+  /**
+   * Gets the bytes allocated by the repeated action.
+   *
+   * @param bean the bean
+   * @param action the action
+   * @return the bytes
+   */
+  private static long allocatedBytes(com.sun.management.ThreadMXBean bean, Runnable action) {
+    final long id = Thread.currentThread().getId();
+    // Warm-up
+    for (int i = 0; i < REPEATS; i++) {
+      action.run();
+    }
+    final long start = bean.getThreadAllocatedBytes(id);
+    for (int i = 0; i < REPEATS; i++) {
+      action.run();
+    }
+    return bean.getThreadAllocatedBytes(id) - start;
+  }
+
+  @Test
+  void testObjectArrayBiPredicate() {
+    final com.sun.management.ThreadMXBean bean = getThreadMxBean();
+    final double[][][] expected = new double[3][4][5];
+    final double[][][] actual = new double[3][4][5];
+    final DoubleDoubleBiPredicate test = Predicates.doublesAreClose(1e-3, 0);
+    final long bytes = allocatedBytes(bean,
+        () -> TestAssertions.assertArrayTest(expected, actual, test, "message"));
+    // Allow a small amount for the measurement itself
+    Assertions.assertTrue(bytes < REPEATS, () -> "Allocated bytes: " + bytes);
+  }
+
+  @Test
+  void testObjectArrayPredicate() {
+    final com.sun.management.ThreadMXBean bean = getThreadMxBean();
+    final int[][] value = new int[5][7];
+    final IntPredicate test = Predicates.intIsEqualTo(0);
+    final long bytes = allocatedBytes(bean,
+        () -> TestAssertions.assertArrayTest(value, test, () -> "message"));
+    Assertions.assertTrue(bytes < REPEATS, () -> "Allocated bytes: " + bytes);
+  }
+}
@@ -0,0 +1,45 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+import java.net.URL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the {@link ArrayMismatchTest} against the packaged multi-release jar. This tests the
+ * version of {@link ArrayMismatch} for the running Java version.
+ */
+@SuppressWarnings("javadoc")
+class ArrayMismatchIT extends ArrayMismatchTest {
+
+  @Test
+  void testVersionedClassIsLoaded() {
+    final URL url = ArrayMismatch.class.getResource("ArrayMismatch.class");
+    Assertions.assertNotNull(url);
+    final String location = url.toString();
+    Assertions.assertTrue(location.startsWith("jar:"), () -> "Not loaded from a jar: " + location);
+    final boolean java8 = System.getProperty("java.specification.version").startsWith("1.");
+    Assertions.assertEquals(!java8, location.contains("/META-INF/versions/9/"), location);
+  }
+}
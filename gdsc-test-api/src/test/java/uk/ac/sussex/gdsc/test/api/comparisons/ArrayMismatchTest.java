@@ -0,0 +1,139 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("javadoc")
+class ArrayMismatchTest {
+  private static final int LENGTH = 37;
+
+  @Test
+  void testBooleanMismatch() {
+    final boolean[] a = new boolean[LENGTH];
+    for (int i = 0; i < LENGTH; i++) {
+      final boolean[] b = a.clone();
+      b[i] = true;
+      assertMismatch(i, (from, to) -> ArrayMismatch.mismatch(a, b, from, to));
+    }
+  }
+
+  @Test
+  void testByteMismatch() {
+    final byte[] a = new byte[LENGTH];
+    for (int i = 0; i < LENGTH; i++) {
+      final byte[] b = a.clone();
+      b[i] = 1;
+      assertMismatch(i, (from, to) -> ArrayMismatch.mismatch(a, b, from, to));
+    }
+  }
+
+  @Test
+  void testCharMismatch() {
+    final char[] a = new char[LENGTH];
+    for (int i = 0; i < LENGTH; i++) {
+      final char[] b = a.clone();
+      b[i] = 1;
+      assertMismatch(i, (from, to) -> ArrayMismatch.mismatch(a, b, from, to));
+    }
+  }
+
+  @Test
+  void testShortMismatch() {
+    final short[] a = new short[LENGTH];
+    for (int i = 0; i < LENGTH; i++) {
+      final short[] b = a.clone();
+      b[i] = 1;
+      assertMismatch(i, (from, to) -> ArrayMismatch.mismatch(a, b, from, to));
+    }
+  }
+
+  @Test
+  void testIntMismatch() {
+    final int[] a = new int[LENGTH];
+    for (int i = 0; i < LENGTH; i++) {
+      final int[] b = a.clone();
+      b[i] = 1;
+      assertMismatch(i, (from, to) -> ArrayMismatch.mismatch(a, b, from, to));
+    }
+  }
+
+  @Test
+  void testLongMismatch() {
+    final long[] a = new long[LENGTH];
+    for (int i = 0; i < LENGTH; i++) {
+      final long[] b = a.clone();
+      b[i] = 1;
+      assertMismatch(i, (from, to) -> ArrayMismatch.mismatch(a, b, from, to));
+    }
+  }
+
+  @Test
+  void testFloatMismatch() {
+    final float[] a = new float[LENGTH];
+    a[0] = Float.NaN;
+    for (int i = 1; i < LENGTH; i++) {
+      final float[] b = a.clone();
+      // Different NaN bits are equal
+      b[0] = Float.intBitsToFloat(0x7fc00001);
+      b[i] = -0.0f;
+      assertMismatch(i, (from, to) -> ArrayMismatch.mismatch(a, b, from, to));
+    }
+  }
+
+  @Test
+  void testDoubleMismatch() {
+    final double[] a = new double[LENGTH];
+    a[0] = Double.NaN;
+    for (int i = 1; i < LENGTH; i++) {
+      final double[] b = a.clone();
+      // Different NaN bits are equal
+      b[0] = Double.longBitsToDouble(0x7ff8000000000001L);
+      b[i] = -0.0;
+      assertMismatch(i, (from, to) -> ArrayMismatch.mismatch(a, b, from, to));
+    }
+  }
+
+  /**
+   * Assert the mismatch at the index is reported for ranges that include the index, and no
+   * mismatch is reported for ranges that exclude the index or are empty.
+   */
+  private static void assertMismatch(int index, MismatchFunction fun) {
+    Assertions.assertEquals(index, fun.apply(0, LENGTH));
+    Assertions.assertEquals(index, fun.apply(index, index + 1));
+    Assertions.assertEquals(-1, fun.apply(index, index));
+    // Inverted range
+    Assertions.assertEquals(-1, fun.apply(index + 1, index));
+    Assertions.assertEquals(-1, fun.apply(LENGTH, 0));
+    Assertions.assertEquals(-1, fun.apply(0, index));
+    Assertions.assertEquals(-1, fun.apply(index + 1, LENGTH));
+    if (index > 0) {
+      Assertions.assertEquals(index, fun.apply(index - 1, LENGTH));
+    }
+  }
+
+  private interface MismatchFunction {
+    int apply(int from, int to);
+  }
+}
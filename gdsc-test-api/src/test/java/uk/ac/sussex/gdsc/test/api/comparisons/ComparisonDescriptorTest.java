@@ -0,0 +1,103 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+import java.math.BigInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("javadoc")
+class ComparisonDescriptorTest {
+
+  @Test
+  void testDefaultMethods() {
+    final ComparisonDescriptor d = () -> ComparisonKind.EQUAL;
+    assertDescriptor(d, ComparisonKind.EQUAL, 0, 0, 0);
+  }
+
+  @Test
+  void testAreEqual() {
+    assertDescriptor(IntIntAreEqual.INSTANCE, ComparisonKind.EQUAL, 0, 0, 0);
+    assertDescriptor(BooleanBooleanAreEqual.INSTANCE, ComparisonKind.EQUAL, 0, 0, 0);
+    assertDescriptor(DoubleDoubleAreEqual.INSTANCE, ComparisonKind.EQUAL, 0, 0, 0);
+  }
+
+  @Test
+  void testAreBinaryEqual() {
+    assertDescriptor(DoubleDoubleAreBinaryEqual.INSTANCE, ComparisonKind.BINARY_EQUAL, 0, 0, 0);
+    assertDescriptor(FloatFloatAreBinaryEqual.INSTANCE, ComparisonKind.BINARY_EQUAL, 0, 0, 0);
+  }
+
+  @Test
+  void testAreAbsolutelyClose() {
+    assertDescriptor(new DoubleDoubleAreAbsolutelyClose(0.25), ComparisonKind.ABSOLUTELY_CLOSE, 0,
+        0.25, 0);
+    assertDescriptor(new IntIntAreAbsolutelyClose(3), ComparisonKind.ABSOLUTELY_CLOSE, 0, 3, 0);
+    assertDescriptor(new LongLongAreBigAbsolutelyClose(BigInteger.valueOf(7)),
+        ComparisonKind.ABSOLUTELY_CLOSE, 0, 7, 0);
+  }
+
+  @Test
+  void testAreRelativelyClose() {
+    assertDescriptor(new FloatFloatAreRelativelyClose(0.125), ComparisonKind.RELATIVELY_CLOSE,
+        0.125, 0, 0);
+    assertDescriptor(new ShortShortAreRelativelyClose(0.5), ComparisonKind.RELATIVELY_CLOSE, 0.5,
+        0, 0);
+  }
+
+  @Test
+  void testAreClose() {
+    assertDescriptor(new DoubleDoubleAreClose(0.125, 0.5), ComparisonKind.CLOSE, 0.125, 0.5, 0);
+    assertDescriptor(new LongLongAreClose(0.25, 9), ComparisonKind.CLOSE, 0.25, 9, 0);
+    assertDescriptor(new FloatDoubleAreClose(0.125, 0.5), ComparisonKind.CLOSE, 0.125, 0.5, 0);
+  }
+
+  @Test
+  void testIsCloseTo() {
+    assertDescriptor(new DoubleDoubleIsCloseTo(0.125, 0.5), ComparisonKind.IS_CLOSE_TO, 0.125,
+        0.5, 0);
+    assertDescriptor(new ByteByteIsCloseTo(0.25, 2), ComparisonKind.IS_CLOSE_TO, 0.25, 2, 0);
+  }
+
+  @Test
+  void testAreUlpClose() {
+    assertDescriptor(new DoubleDoubleAreUlpClose(5), ComparisonKind.ULP_CLOSE, 0, 0, 5);
+    assertDescriptor(new FloatFloatAreUlpClose((short) 3), ComparisonKind.ULP_CLOSE, 0, 0, 3);
+  }
+
+  @Test
+  void testAreCloseOpUlpClose() {
+    assertDescriptor(new DoubleDoubleAreCloseOrUlpClose(0.125, 0.5, 5),
+        ComparisonKind.CLOSE_OR_ULP_CLOSE, 0.125, 0.5, 5);
+    assertDescriptor(new FloatFloatAreCloseAndUlpClose(0.25, 0.75f, (short) 3),
+        ComparisonKind.CLOSE_AND_ULP_CLOSE, 0.25, 0.75, 3);
+  }
+
+  private static void assertDescriptor(ComparisonDescriptor descriptor, ComparisonKind kind,
+      double relativeError, double absoluteError, long ulpError) {
+    Assertions.assertEquals(kind, descriptor.getComparisonKind(), "kind");
+    Assertions.assertEquals(relativeError, descriptor.getMaxRelativeError(), "relative error");
+    Assertions.assertEquals(absoluteError, descriptor.getMaxAbsoluteError(), "absolute error");
+    Assertions.assertEquals(ulpError, descriptor.getMaxUlpError(), "ULP error");
+  }
+}
@@ -364,6 +364,152 @@ class EqualityTest {
     Assertions.assertEquals(expected, DoubleEquality.areWithinUlp(v2, v1, ulps));
   }
 
+  // ULP distances
+
+  @Test
+  void testDoubleUlpDistancesThrows() {
+    final double[] a = new double[3];
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> DoubleEquality.ulpDistances(a, new double[2], new long[3]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> DoubleEquality.ulpDistances(a, a, new long[2]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> DoubleEquality.signedUlpDistances(a, new double[4], new long[4]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> DoubleEquality.signedUlpDistances(a, a, new long[2]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> DoubleEquality.ulpHistogram(a, new double[2], new long[3]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> DoubleEquality.ulpHistogram(a, a, new long[0]));
+  }
+
+  @Test
+  void testDoubleUlpDistances() {
+    final double[] v1 = {1, -1, -0.0, 0.0, -Double.MIN_VALUE, 1, Double.MAX_VALUE,
+        -Double.MAX_VALUE, Double.NEGATIVE_INFINITY, 3};
+    final double[] v2 = {1, Math.nextDown(-1.0), 0.0, Double.MIN_VALUE, Double.MIN_VALUE, 2,
+        -Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN, Math.nextUp(Math.nextUp(3.0))};
+    final long one = Double.doubleToRawLongBits(1.0);
+    final long max = Double.doubleToRawLongBits(Double.MAX_VALUE);
+    final long inf = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+    final long nan = Double.doubleToRawLongBits(Double.NaN);
+    // Longer output is allowed
+    final long[] distances = new long[v1.length + 1];
+    Assertions.assertSame(distances, DoubleEquality.ulpDistances(v1, v2, distances));
+    Assertions.assertArrayEquals(new long[] {0, 1, 0, 1, 2, 1L << 52, 2 * max, max + inf,
+        inf + nan, 2, 0}, distances);
+    Assertions.assertTrue(Long.compareUnsigned(distances[8], distances[7]) > 0);
+    for (int i = 0; i < v1.length; i++) {
+      // Consistent with the ULP test
+      final long d = distances[i];
+      if (d >= 0 && d < Integer.MAX_VALUE && !Double.isNaN(v2[i])) {
+        Assertions.assertTrue(DoubleEquality.areWithinUlp(v1[i], v2[i], (int) d));
+        if (d != 0) {
+          Assertions.assertFalse(DoubleEquality.areWithinUlp(v1[i], v2[i], (int) d - 1));
+        }
+      }
+    }
+
+    final long[] signed = DoubleEquality.signedUlpDistances(v1, v2, new long[v1.length]);
+    Assertions.assertArrayEquals(new long[] {0, -1, 0, 1, 2, 1L << 52, Long.MIN_VALUE,
+        Long.MAX_VALUE, Long.MAX_VALUE, 2}, signed);
+    // Reverse
+    DoubleEquality.signedUlpDistances(v2, v1, signed);
+    Assertions.assertArrayEquals(new long[] {0, 1, 0, -1, -2, -(1L << 52), Long.MAX_VALUE,
+        Long.MIN_VALUE, Long.MIN_VALUE, -2}, signed);
+    Assertions.assertEquals(one, Math.abs(DoubleEquality.signedUlpDistances(
+        new double[] {0}, new double[] {1}, new long[1])[0]));
+  }
+
+  @Test
+  void testDoubleUlpHistogram() {
+    final double[] v1 = {1, 1, 1, 1, 1, 1, -0.0, 1};
+    final double[] v2 = {1, Math.nextUp(1.0), 1 + 2 * Math.ulp(1.0), 1 + 3 * Math.ulp(1.0),
+        1 + 4 * Math.ulp(1.0), 2, 0.0, -1};
+    final long[] histogram = new long[65];
+    Assertions.assertSame(histogram, DoubleEquality.ulpHistogram(v1, v2, histogram));
+    final long[] expected = new long[65];
+    expected[0] = 2;
+    expected[1] = 1;
+    expected[2] = 2;
+    expected[3] = 1;
+    expected[53] = 1;
+    expected[63] = 1;
+    Assertions.assertArrayEquals(expected, histogram);
+    // Accumulate and clip to the last bucket
+    final long[] small = DoubleEquality.ulpHistogram(v1, v2, new long[3]);
+    DoubleEquality.ulpHistogram(v1, v2, small);
+    Assertions.assertArrayEquals(new long[] {4, 2, 10}, small);
+    // Compare to the distances
+    final long[] h = new long[65];
+    for (final long d : DoubleEquality.ulpDistances(v1, v2, new long[v1.length])) {
+      h[64 - Long.numberOfLeadingZeros(d)]++;
+    }
+    Assertions.assertArrayEquals(h, histogram);
+    final double[] v3 = {Double.NEGATIVE_INFINITY};
+    final double[] v4 = {Double.NaN};
+    Assertions.assertEquals(1, DoubleEquality.ulpHistogram(v3, v4, new long[65])[64]);
+  }
+
+  @Test
+  void testFloatUlpDistancesThrows() {
+    final float[] a = new float[3];
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> FloatEquality.ulpDistances(a, new float[2], new int[3]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> FloatEquality.ulpDistances(a, a, new int[2]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> FloatEquality.signedUlpDistances(a, new float[4], new long[4]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> FloatEquality.signedUlpDistances(a, a, new long[2]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> FloatEquality.ulpHistogram(a, new float[2], new long[3]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> FloatEquality.ulpHistogram(a, a, new long[0]));
+  }
+
+  @Test
+  void testFloatUlpDistances() {
+    final float[] v1 = {1, -1, -0.0f, 0.0f, -Float.MIN_VALUE, 1, Float.MAX_VALUE,
+        Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+    final float[] v2 = {1, Math.nextDown(-1.0f), 0.0f, Float.MIN_VALUE, Float.MIN_VALUE, 2,
+        -Float.MAX_VALUE, Float.POSITIVE_INFINITY, Float.NaN};
+    final long max = Float.floatToRawIntBits(Float.MAX_VALUE);
+    final long inf = Float.floatToRawIntBits(Float.POSITIVE_INFINITY);
+    final long nan = Float.floatToRawIntBits(Float.NaN);
+    final int[] distances = FloatEquality.ulpDistances(v1, v2, new int[v1.length]);
+    final long[] unsigned = new long[distances.length];
+    for (int i = 0; i < distances.length; i++) {
+      unsigned[i] = Integer.toUnsignedLong(distances[i]);
+    }
+    Assertions.assertArrayEquals(new long[] {0, 1, 0, 1, 2, 1L << 23, 2 * max, 2 * inf,
+        inf + nan}, unsigned);
+
+    final long[] signed = FloatEquality.signedUlpDistances(v1, v2, new long[v1.length]);
+    Assertions.assertArrayEquals(new long[] {0, -1, 0, 1, 2, 1L << 23, -2 * max, 2 * inf,
+        inf + nan}, signed);
+    FloatEquality.signedUlpDistances(v2, v1, signed);
+    Assertions.assertArrayEquals(new long[] {0, 1, 0, -1, -2, -(1L << 23), 2 * max, -2 * inf,
+        -inf - nan}, signed);
+  }
+
+  @Test
+  void testFloatUlpHistogram() {
+    final float[] v1 = {1, 1, 1, 1, 1, 1, -0.0f, Float.NEGATIVE_INFINITY};
+    final float[] v2 = {1, Math.nextUp(1.0f), 1 + 2 * Math.ulp(1.0f), 1 + 3 * Math.ulp(1.0f),
+        1 + 4 * Math.ulp(1.0f), 2, 0.0f, Float.NaN};
+    final long[] histogram = FloatEquality.ulpHistogram(v1, v2, new long[33]);
+    final long[] expected = new long[33];
+    expected[0] = 2;
+    expected[1] = 1;
+    expected[2] = 2;
+    expected[3] = 1;
+    expected[24] = 1;
+    expected[32] = 1;
+    Assertions.assertArrayEquals(expected, histogram);
+    Assertions.assertArrayEquals(new long[] {2, 6}, FloatEquality.ulpHistogram(v1, v2, new long[2]));
+  }
+
   // float Within
 
   @Test
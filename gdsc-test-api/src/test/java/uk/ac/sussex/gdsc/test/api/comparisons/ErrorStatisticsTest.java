@@ -0,0 +1,285 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+import uk.ac.sussex.gdsc.test.api.Predicates;
+import uk.ac.sussex.gdsc.test.api.TestAssertions;
+import uk.ac.sussex.gdsc.test.api.function.DoubleDoubleBiPredicate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("javadoc")
+class ErrorStatisticsTest {
+
+  @Test
+  void testEmpty() {
+    final ErrorStatistics stats = new ErrorStatistics();
+    Assertions.assertEquals(0, stats.getCount());
+    Assertions.assertEquals(0, stats.getMismatchCount());
+    Assertions.assertEquals(-1, stats.getMaxAbsoluteErrorIndex());
+    Assertions.assertEquals(-1, stats.getMaxRelativeErrorIndex());
+    Assertions.assertEquals(-1, stats.getMaxUlpErrorIndex());
+    Assertions.assertEquals(0, stats.getMaxAbsoluteError());
+    Assertions.assertEquals(0, stats.getMaxRelativeError());
+    Assertions.assertEquals(0, stats.getMaxUlpError());
+    Assertions.assertEquals("mismatches 0 of 0", stats.toString());
+  }
+
+  @Test
+  void testAddDouble() {
+    final ErrorStatistics stats = new ErrorStatistics();
+    Assertions.assertSame(stats, stats.add(0, 1.0, 1.0, false));
+    // Absolute 2, relative 2/3
+    stats.add(1, 3.0, 1.0, true);
+    // Absolute 1, relative 1
+    stats.add(2, 1.0, 0.0, true);
+    // ULP error: 2^52 steps between 1 and 2
+    stats.add(3, 1.0, 1.5, false);
+    // Ties are ignored
+    stats.add(4, 3.0, 1.0, true);
+    Assertions.assertEquals(5, stats.getCount());
+    Assertions.assertEquals(3, stats.getMismatchCount());
+    Assertions.assertEquals(2.0, stats.getMaxAbsoluteError());
+    Assertions.assertEquals(1, stats.getMaxAbsoluteErrorIndex());
+    Assertions.assertEquals(1.0, stats.getMaxRelativeError());
+    Assertions.assertEquals(2, stats.getMaxRelativeErrorIndex());
+    // 1.0 to 0.0 has the largest ULP error
+    Assertions.assertEquals(Double.doubleToRawLongBits(1.0), stats.getMaxUlpError());
+    Assertions.assertEquals(2, stats.getMaxUlpErrorIndex());
+    Assertions.assertEquals("mismatches 3 of 5, max absolute error 2.0 at index [1], "
+        + "max relative error 1.0 at index [2], max ULP error "
+        + Double.doubleToRawLongBits(1.0) + " at index [2]", stats.toString());
+  }
+
+  @Test
+  void testAddDoubleUlpErrorIsUnsigned() {
+    final ErrorStatistics stats = new ErrorStatistics();
+    stats.add(0, -0.0, 0.0, false);
+    Assertions.assertEquals(0, stats.getMaxUlpError());
+    Assertions.assertEquals(0, stats.getMaxRelativeError());
+    stats.add(1, -Double.MAX_VALUE, Double.MAX_VALUE, true);
+    stats.add(2, Double.longBitsToDouble(0xfff8000000000000L), Double.NaN, true);
+    Assertions.assertEquals(2, stats.getMaxUlpErrorIndex());
+    Assertions.assertTrue(stats.getMaxUlpError() < 0, "Should overflow to unsigned");
+    Assertions.assertEquals(Long.toUnsignedString(stats.getMaxUlpError()),
+        stats.toString().replaceAll(".*max ULP error (\\d+) .*", "$1"));
+  }
+
+  @Test
+  void testAddDoubleNaNIsWorst() {
+    final ErrorStatistics stats = new ErrorStatistics();
+    // Relative error of infinite values is NaN
+    stats.add(0, 1.0, 3.0, true);
+    stats.add(1, 1.0, Double.NaN, true);
+    stats.add(2, 1.0, Double.POSITIVE_INFINITY, true);
+    stats.add(3, Double.NaN, 1.0, true);
+    Assertions.assertEquals(Double.NaN, stats.getMaxAbsoluteError());
+    Assertions.assertEquals(1, stats.getMaxAbsoluteErrorIndex());
+    Assertions.assertEquals(Double.NaN, stats.getMaxRelativeError());
+    Assertions.assertEquals(1, stats.getMaxRelativeErrorIndex());
+  }
+
+  @Test
+  void testAddDoubleMatchingValuesHaveNoError() {
+    final ErrorStatistics stats = new ErrorStatistics();
+    stats.add(0, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, false);
+    stats.add(1, 1.0, 1.25, true);
+    stats.add(2, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, false);
+    stats.add(3, Double.NaN, Double.NaN, false);
+    Assertions.assertEquals(0.25, stats.getMaxAbsoluteError());
+    Assertions.assertEquals(1, stats.getMaxAbsoluteErrorIndex());
+    Assertions.assertEquals(0.2, stats.getMaxRelativeError());
+    Assertions.assertEquals(1, stats.getMaxRelativeErrorIndex());
+    final ErrorStatistics stats2 = new ErrorStatistics();
+    stats2.add(0, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, false);
+    stats2.add(1, 1.0f, 1.25f, true);
+    Assertions.assertEquals(0.25, stats2.getMaxAbsoluteError());
+    Assertions.assertEquals(1, stats2.getMaxAbsoluteErrorIndex());
+  }
+
+  @Test
+  void testAddFloat() {
+    final ErrorStatistics stats = new ErrorStatistics();
+    stats.add(0, 1.0f, Math.nextUp(1.0f), true);
+    stats.add(1, -0.0f, Float.MIN_VALUE, true);
+    stats.add(2, -Float.MIN_VALUE, Float.MIN_VALUE, false);
+    Assertions.assertEquals(3, stats.getCount());
+    Assertions.assertEquals(2, stats.getMismatchCount());
+    Assertions.assertEquals(2, stats.getMaxUlpError());
+    Assertions.assertEquals(2, stats.getMaxUlpErrorIndex());
+    Assertions.assertEquals(Math.ulp(1.0f), stats.getMaxAbsoluteError());
+    Assertions.assertEquals(0, stats.getMaxAbsoluteErrorIndex());
+    // Relative error is 2 for values of opposite sign
+    Assertions.assertEquals(2.0, stats.getMaxRelativeError());
+    Assertions.assertEquals(2, stats.getMaxRelativeErrorIndex());
+    // Opposite signs at the limit of the float range
+    stats.add(3, -Float.MAX_VALUE, Float.MAX_VALUE, true);
+    Assertions.assertEquals(2L * Float.floatToRawIntBits(Float.MAX_VALUE), stats.getMaxUlpError());
+  }
+
+  @Test
+  void testAddLong() {
+    final ErrorStatistics stats = new ErrorStatistics();
+    stats.add(0, 10, 5, true);
+    stats.add(1, Long.MIN_VALUE, Long.MAX_VALUE, true);
+    Assertions.assertEquals(2, stats.getCount());
+    Assertions.assertEquals(-2.0 * Long.MIN_VALUE, stats.getMaxAbsoluteError());
+    Assertions.assertEquals(1, stats.getMaxAbsoluteErrorIndex());
+    Assertions.assertEquals(-1, stats.getMaxUlpErrorIndex());
+    Assertions.assertEquals("mismatches 2 of 2, max absolute error "
+        + stats.getMaxAbsoluteError() + " at index [1], max relative error "
+        + stats.getMaxRelativeError() + " at index [1]", stats.toString());
+  }
+
+  @Test
+  void testAddLongIsExact() {
+    final ErrorStatistics stats = new ErrorStatistics();
+    // The values are not distinct in double precision
+    final long value = 1L << 53;
+    stats.add(0, value, value, false);
+    stats.add(1, value + 1, value, true);
+    Assertions.assertEquals(1.0, stats.getMaxAbsoluteError());
+    Assertions.assertEquals(1, stats.getMaxAbsoluteErrorIndex());
+    Assertions.assertEquals(1, stats.getMaxRelativeErrorIndex());
+    stats.add(2, Long.MAX_VALUE, Long.MAX_VALUE - 3, true);
+    Assertions.assertEquals(3.0, stats.getMaxAbsoluteError());
+    Assertions.assertEquals(2, stats.getMaxAbsoluteErrorIndex());
+    // Overflow of the signed difference
+    stats.add(3, -1, Long.MAX_VALUE, true);
+    Assertions.assertEquals(0x1.0p63, stats.getMaxAbsoluteError());
+    stats.add(4, Long.MIN_VALUE, 1L << 11, true);
+    Assertions.assertEquals(0x1.0p63 + 0x1.0p11, stats.getMaxAbsoluteError());
+    Assertions.assertEquals(4, stats.getMaxAbsoluteErrorIndex());
+  }
+
+  @Test
+  void testCombine() {
+    final double[] expected = {1, 2, 3, 4, 5, 6, 7, 8};
+    final double[] actual = {1, 2.5, 3, 0, 5, 6.5, 7, 4};
+    final ErrorStatistics all = new ErrorStatistics();
+    for (int i = 0; i < expected.length; i++) {
+      all.add(i, expected[i], actual[i], expected[i] != actual[i]);
+    }
+    for (int split = 0; split <= expected.length; split++) {
+      final ErrorStatistics lower = new ErrorStatistics();
+      final ErrorStatistics upper = new ErrorStatistics();
+      for (int i = 0; i < split; i++) {
+        lower.add(i, expected[i], actual[i], expected[i] != actual[i]);
+      }
+      for (int i = split; i < expected.length; i++) {
+        upper.add(i, expected[i], actual[i], expected[i] != actual[i]);
+      }
+      // Combine in either order
+      final String msg = "split " + split;
+      Assertions.assertEquals(all.toString(), copy(lower).combine(upper).toString(), msg);
+      Assertions.assertEquals(all.toString(), copy(upper).combine(lower).toString(), msg);
+      Assertions.assertSame(lower, lower.combine(new ErrorStatistics()));
+    }
+  }
+
+  @Test
+  void testCombineTiesUseLowestIndex() {
+    final ErrorStatistics s1 = new ErrorStatistics().add(5, 1.0, 2.0, true);
+    final ErrorStatistics s2 = new ErrorStatistics().add(3, 1.0, 2.0, true);
+    s1.combine(s2);
+    Assertions.assertEquals(3, s1.getMaxAbsoluteErrorIndex());
+    Assertions.assertEquals(3, s1.getMaxRelativeErrorIndex());
+    Assertions.assertEquals(3, s1.getMaxUlpErrorIndex());
+    final ErrorStatistics s3 = new ErrorStatistics().add(7, 1.0, Double.NaN, true);
+    final ErrorStatistics s4 = new ErrorStatistics().add(6, Double.NaN, 1.0, true);
+    s3.combine(s4);
+    Assertions.assertEquals(6, s3.getMaxAbsoluteErrorIndex());
+  }
+
+  @Test
+  void testArrayFailureMessage() {
+    final double[] expected = {1, 2, 3, 4};
+    final double[] actual = {1, 2.5, 3, 0};
+    final String message = Assertions.assertThrows(AssertionError.class,
+        () -> TestAssertions.assertArrayTest(expected, actual, Predicates.doublesAreEqual()))
+        .getMessage();
+    Assertions.assertTrue(message.contains("Error statistics: mismatches 2 of 4, "
+        + "max absolute error 4.0 at index [3], max relative error 1.0 at index [3]"), message);
+    final float[] expected2 = {1, 2, 3, 4};
+    final float[] actual2 = {1, 2, 3, 4.5f};
+    final String message2 = Assertions.assertThrows(AssertionError.class,
+        () -> TestAssertions.assertArrayTest(expected2, actual2, Predicates.floatsAreEqual()))
+        .getMessage();
+    Assertions.assertTrue(message2.contains("Error statistics: mismatches 1 of 4"), message2);
+  }
+
+  @Test
+  void testStridedArrayFailureMessage() {
+    final double[] expected = {1, 9, 2, 9, 3, 9, 4};
+    final double[] actual = {9, 1, 9, 2.5, 9, 3, 9, 0};
+    final String message = Assertions.assertThrows(AssertionError.class,
+        () -> TestAssertions.assertArrayTest(expected, 0, actual, 1, 4, 2,
+            Predicates.doublesAreEqual())).getMessage();
+    Assertions.assertTrue(message.contains("Array contents fail at index [1]"), message);
+    Assertions.assertTrue(message.contains("Error statistics: mismatches 2 of 4, "
+        + "max absolute error 4.0 at index [3], max relative error 1.0 at index [3]"), message);
+  }
+
+  @Test
+  void testArrayFailureMessageWithMatchingInfinity() {
+    final double[] expected = {Double.POSITIVE_INFINITY, 1, 2};
+    final double[] actual = {Double.POSITIVE_INFINITY, 1, 2.5};
+    final String message = Assertions.assertThrows(AssertionError.class,
+        () -> TestAssertions.assertArrayTest(expected, actual, Predicates.doublesAreEqual()))
+        .getMessage();
+    Assertions.assertTrue(message.contains("Error statistics: mismatches 1 of 3, "
+        + "max absolute error 0.5 at index [2], max relative error 0.2 at index [2]"), message);
+  }
+
+  @Test
+  void testArrayFailureMessageUsesBulkTest() {
+    final double[] expected = {1, 2, 3, 4, 5};
+    final double[] actual = {1, 2.5, 3, 0, 5};
+    // The statistics must be computed using the bulk test
+    final DoubleDoubleBiPredicate test = new DoubleDoubleBiPredicate() {
+      @Override
+      public boolean test(double value1, double value2) {
+        throw new IllegalStateException();
+      }
+
+      @Override
+      public int firstFailure(double[] values1, double[] values2, int from, int to) {
+        for (int i = from; i < to; i++) {
+          if (values1[i] != values2[i]) {
+            return i;
+          }
+        }
+        return -1;
+      }
+    };
+    final String message = Assertions.assertThrows(AssertionError.class,
+        () -> TestAssertions.assertArrayTest(expected, actual, test)).getMessage();
+    Assertions.assertTrue(message.contains("Error statistics: mismatches 2 of 5, "
+        + "max absolute error 4.0 at index [3], max relative error 1.0 at index [3]"), message);
+  }
+
+  private static ErrorStatistics copy(ErrorStatistics stats) {
+    return new ErrorStatistics().combine(stats);
+  }
+}
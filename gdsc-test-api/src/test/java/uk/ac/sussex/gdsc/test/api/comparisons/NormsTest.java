@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test API
+ *
+ * Contains a generic framework for test predicates.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("javadoc")
+class NormsTest {
+
+  @Test
+  void testRelativeL2Error() {
+    Assertions.assertEquals(0, Norms.relativeL2Error(new double[0], new double[0]));
+    Assertions.assertEquals(0.5,
+        Norms.relativeL2Error(new double[] {3, 4}, new double[] {4.5, 6}));
+    Assertions.assertEquals(Double.POSITIVE_INFINITY,
+        Norms.relativeL2Error(new double[] {0}, new double[] {1}));
+    Assertions.assertEquals(Double.NaN,
+        Norms.relativeL2Error(new double[] {1}, new double[] {Double.NaN}));
+  }
+
+  @Test
+  void testRelativeL2ErrorWithOverflowOfTheDifference() {
+    final double max = Double.MAX_VALUE;
+    Assertions.assertEquals(2, Norms.relativeL2Error(new double[] {max}, new double[] {-max}));
+    Assertions.assertEquals(2,
+        Norms.relativeL2Error(new double[] {-max, max}, new double[] {max, -max}));
+    // Values before and after the overflow are included
+    Assertions.assertEquals(2, Norms.relativeL2Error(new double[] {max * 0.75, max, max * 0.75},
+        new double[] {-max * 0.75, -max, -max * 0.75}), 1e-15);
+    Assertions.assertEquals(0.5, Norms.relativeL2Error(new double[] {max, max},
+        new double[] {max * 0.5, max * 0.5}));
+  }
+
+  @Test
+  void testRmsError() {
+    Assertions.assertEquals(0, Norms.rmsError(new double[0], new double[0]));
+    Assertions.assertEquals(Math.sqrt(12.5),
+        Norms.rmsError(new double[] {1, 2}, new double[] {4, 6}), 1e-15);
+  }
+
+  @Test
+  void testRmsErrorWithOverflowOfTheDifference() {
+    final double max = Double.MAX_VALUE;
+    Assertions.assertEquals(max,
+        Norms.rmsError(new double[] {max, 0, 0, 0}, new double[] {-max, 0, 0, 0}));
+    Assertions.assertEquals(Double.POSITIVE_INFINITY,
+        Norms.rmsError(new double[] {max}, new double[] {-max}));
+  }
+}
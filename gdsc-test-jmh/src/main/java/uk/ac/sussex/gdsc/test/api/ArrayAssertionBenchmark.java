@@ -0,0 +1,204 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test JMH
+ *
+ * Contains JMH benchmarks for the GDSC Test libraries.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.sussex.gdsc.test.api.function.DoubleDoubleBiPredicate;
+import uk.ac.sussex.gdsc.test.api.function.FloatFloatBiPredicate;
+
+/**
+ * Executes benchmark to compare the speed of array assertions using 1D and nested arrays.
+ *
+ * <p>All the assertions pass. The actual arrays are copies of the expected arrays with small
+ * differences so the identity short-cut for the same array reference is not used.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx4096M"})
+public class ArrayAssertionBenchmark {
+  /** The relative error. */
+  private static final double RELATIVE_ERROR = 1e-6;
+  /** The absolute error for double values. */
+  private static final double ABSOLUTE_ERROR = 1e-10;
+  /** The absolute error for float values. */
+  private static final float FLOAT_ABSOLUTE_ERROR = 1e-5f;
+  /** The ULP error for double values. */
+  private static final int ULP_ERROR = 4;
+  /** The ULP error for float values. */
+  private static final short FLOAT_ULP_ERROR = 4;
+
+  /**
+   * The source of the data and predicates for the benchmark.
+   */
+  @State(Scope.Benchmark)
+  public static class Source {
+    /** The total number of elements in the data. */
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    /** The predicate. */
+    @Param({"close", "ulp", "and"})
+    private String predicate;
+
+    /** The expected double values. */
+    private double[] doubles1;
+    /** The actual double values. */
+    private double[] doubles2;
+    /** The expected float values. */
+    private float[] floats1;
+    /** The actual float values. */
+    private float[] floats2;
+    /** The double predicate. */
+    private DoubleDoubleBiPredicate doubleTest;
+    /** The float predicate. */
+    private FloatFloatBiPredicate floatTest;
+
+    /**
+     * Create the data and predicates.
+     */
+    @Setup
+    public void setup() {
+      final SplittableRandom rng = new SplittableRandom(12345);
+      doubles1 = new double[size];
+      doubles2 = new double[size];
+      floats1 = new float[size];
+      floats2 = new float[size];
+      for (int i = 0; i < size; i++) {
+        final double x = rng.nextDouble() * 100;
+        doubles1[i] = x;
+        doubles2[i] = Double.longBitsToDouble(Double.doubleToRawLongBits(x) + rng.nextInt(-3, 4));
+        final float y = (float) x;
+        floats1[i] = y;
+        floats2[i] = Float.intBitsToFloat(Float.floatToRawIntBits(y) + rng.nextInt(-3, 4));
+      }
+
+      switch (predicate) {
+        case "close":
+          doubleTest = Predicates.doublesAreClose(RELATIVE_ERROR, ABSOLUTE_ERROR);
+          floatTest = Predicates.floatsAreClose(RELATIVE_ERROR, FLOAT_ABSOLUTE_ERROR);
+          break;
+        case "ulp":
+          doubleTest = Predicates.doublesAreUlpClose(ULP_ERROR);
+          floatTest = Predicates.floatsAreUlpClose(FLOAT_ULP_ERROR);
+          break;
+        case "and":
+          doubleTest = Predicates.doublesAreRelativelyClose(RELATIVE_ERROR)
+              .and(Predicates.doublesAreUlpClose(ULP_ERROR));
+          floatTest = Predicates.floatsAreRelativelyClose(RELATIVE_ERROR)
+              .and(Predicates.floatsAreUlpClose(FLOAT_ULP_ERROR));
+          break;
+        default:
+          throw new IllegalStateException("Unknown predicate: " + predicate);
+      }
+    }
+  }
+
+  /**
+   * The source of the nested data for the benchmark. The nested arrays are the 1D arrays of the
+   * {@link Source} split into rows.
+   */
+  @State(Scope.Benchmark)
+  public static class NestedSource {
+    /** The number of columns in the rows of the nested arrays. */
+    @Param({"10", "1000"})
+    private int columns;
+
+    /** The expected nested double values. */
+    private double[][] nestedDoubles1;
+    /** The actual nested double values. */
+    private double[][] nestedDoubles2;
+
+    /**
+     * Create the nested data.
+     *
+     * @param source the source of the 1D data
+     */
+    @Setup
+    public void setup(Source source) {
+      final int size = source.size;
+      final int cols = Math.min(size, columns);
+      final int rows = size / cols;
+      nestedDoubles1 = new double[rows][];
+      nestedDoubles2 = new double[rows][];
+      for (int i = 0; i < rows; i++) {
+        nestedDoubles1[i] = new double[cols];
+        nestedDoubles2[i] = new double[cols];
+        System.arraycopy(source.doubles1, i * cols, nestedDoubles1[i], 0, cols);
+        System.arraycopy(source.doubles2, i * cols, nestedDoubles2[i], 0, cols);
+      }
+    }
+  }
+
+  /**
+   * Assert the double arrays.
+   *
+   * @param source the source
+   * @return the source
+   */
+  @Benchmark
+  public Object doubleArray(Source source) {
+    TestAssertions.assertArrayTest(source.doubles1, source.doubles2, source.doubleTest);
+    return source;
+  }
+
+  /**
+   * Assert the float arrays.
+   *
+   * @param source the source
+   * @return the source
+   */
+  @Benchmark
+  public Object floatArray(Source source) {
+    TestAssertions.assertArrayTest(source.floats1, source.floats2, source.floatTest);
+    return source;
+  }
+
+  /**
+   * Assert the nested double arrays.
+   *
+   * @param source the source
+   * @param nested the source of the nested data
+   * @return the nested source
+   */
+  @Benchmark
+  public Object nestedDoubleArray(Source source, NestedSource nested) {
+    TestAssertions.assertArrayTest(nested.nestedDoubles1, nested.nestedDoubles2,
+        source.doubleTest);
+    return nested;
+  }
+}
@@ -0,0 +1,260 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test JMH
+ *
+ * Contains JMH benchmarks for the GDSC Test libraries.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.sussex.gdsc.test.api.Predicates;
+import uk.ac.sussex.gdsc.test.api.function.DoubleDoubleBiPredicate;
+import uk.ac.sussex.gdsc.test.api.function.FloatFloatBiPredicate;
+
+/**
+ * Executes benchmark to compare the speed of the built-in bi-predicates.
+ *
+ * <p>The predicates are evaluated through the functional interface in a loop over arrays. The
+ * call site in the loop can be monomorphic (one predicate class), bimorphic (two predicate
+ * classes) or megamorphic (more than two predicate classes). A polluted call site is created by
+ * running the loop with other predicates before the benchmark is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx4096M"})
+public class BiPredicateBenchmark {
+  /** The relative error. */
+  private static final double RELATIVE_ERROR = 1e-6;
+  /** The absolute error for double values. */
+  private static final double ABSOLUTE_ERROR = 1e-10;
+  /** The absolute error for float values. */
+  private static final float FLOAT_ABSOLUTE_ERROR = 1e-5f;
+  /** The ULP error for double values. */
+  private static final int ULP_ERROR = 4;
+  /** The ULP error for float values. */
+  private static final short FLOAT_ULP_ERROR = 4;
+  /** The number of invocations of the loop used to pollute the call site profile. */
+  private static final int POLLUTION_ROUNDS = 20000;
+  /** The maximum length of the data used to pollute the call site profile. */
+  private static final int POLLUTION_SIZE = 100;
+
+  /**
+   * The source of the data and predicates for the benchmark.
+   */
+  @State(Scope.Benchmark)
+  public static class Source {
+    /** The length of the data. */
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    /** The predicate. */
+    @Param({"close", "absolute", "ulp", "and", "or"})
+    private String predicate;
+
+    /** The type of call site. */
+    @Param({"monomorphic", "bimorphic", "megamorphic"})
+    private String callSite;
+
+    /** The first double values. */
+    private double[] doubles1;
+    /** The second double values. */
+    private double[] doubles2;
+    /** The first float values. */
+    private float[] floats1;
+    /** The second float values. */
+    private float[] floats2;
+    /** The double predicate. */
+    private DoubleDoubleBiPredicate doubleTest;
+    /** The float predicate. */
+    private FloatFloatBiPredicate floatTest;
+
+    /**
+     * Create the data and predicates. The call site in the benchmark loop is polluted with
+     * other predicates if required.
+     */
+    @Setup
+    public void setup() {
+      final SplittableRandom rng = new SplittableRandom(12345);
+      doubles1 = new double[size];
+      doubles2 = new double[size];
+      floats1 = new float[size];
+      floats2 = new float[size];
+      for (int i = 0; i < size; i++) {
+        final double x = rng.nextDouble() * 100;
+        doubles1[i] = x;
+        doubles2[i] = Double.longBitsToDouble(Double.doubleToRawLongBits(x) + rng.nextInt(-3, 4));
+        final float y = (float) x;
+        floats1[i] = y;
+        floats2[i] = Float.intBitsToFloat(Float.floatToRawIntBits(y) + rng.nextInt(-3, 4));
+      }
+
+      final DoubleDoubleBiPredicate[] doubleTests = {
+          Predicates.doublesAreClose(RELATIVE_ERROR, ABSOLUTE_ERROR),
+          Predicates.doublesAreAbsolutelyClose(ABSOLUTE_ERROR),
+          Predicates.doublesAreUlpClose(ULP_ERROR),
+          Predicates.doublesAreRelativelyClose(RELATIVE_ERROR)
+              .and(Predicates.doublesAreUlpClose(ULP_ERROR)),
+          Predicates.doublesAreRelativelyClose(RELATIVE_ERROR)
+              .or(Predicates.doublesAreAbsolutelyClose(ABSOLUTE_ERROR)),
+      };
+      final FloatFloatBiPredicate[] floatTests = {
+          Predicates.floatsAreClose(RELATIVE_ERROR, FLOAT_ABSOLUTE_ERROR),
+          Predicates.floatsAreAbsolutelyClose(FLOAT_ABSOLUTE_ERROR),
+          Predicates.floatsAreUlpClose(FLOAT_ULP_ERROR),
+          Predicates.floatsAreRelativelyClose(RELATIVE_ERROR)
+              .and(Predicates.floatsAreUlpClose(FLOAT_ULP_ERROR)),
+          Predicates.floatsAreRelativelyClose(RELATIVE_ERROR)
+              .or(Predicates.floatsAreAbsolutelyClose(FLOAT_ABSOLUTE_ERROR)),
+      };
+      final int index = getPredicateIndex(predicate);
+      doubleTest = doubleTests[index];
+      floatTest = floatTests[index];
+
+      final int classes = getCallSiteClasses(callSite);
+      if (classes > 1) {
+        // Run the loop with other predicates so the call site profile records multiple types
+        final int length = Math.min(size, POLLUTION_SIZE);
+        for (int round = 0; round < POLLUTION_ROUNDS; round++) {
+          for (int j = 1; j < classes; j++) {
+            final int k = (index + j) % doubleTests.length;
+            countDoubles(doubleTests[k], doubles1, doubles2, length);
+            countFloats(floatTests[k], floats1, floats2, length);
+          }
+        }
+      }
+    }
+
+    /**
+     * Gets the index of the named predicate.
+     *
+     * @param name the name
+     * @return the index
+     */
+    private static int getPredicateIndex(String name) {
+      switch (name) {
+        case "close":
+          return 0;
+        case "absolute":
+          return 1;
+        case "ulp":
+          return 2;
+        case "and":
+          return 3;
+        case "or":
+          return 4;
+        default:
+          throw new IllegalStateException("Unknown predicate: " + name);
+      }
+    }
+
+    /**
+     * Gets the number of classes to observe at the call site.
+     *
+     * @param name the name of the call site
+     * @return the number of classes
+     */
+    private static int getCallSiteClasses(String name) {
+      switch (name) {
+        case "monomorphic":
+          return 1;
+        case "bimorphic":
+          return 2;
+        case "megamorphic":
+          return 5;
+        default:
+          throw new IllegalStateException("Unknown call site: " + name);
+      }
+    }
+  }
+
+  /**
+   * Count the values that pass the predicate.
+   *
+   * @param test the predicate
+   * @param a the first values
+   * @param b the second values
+   * @param length the length
+   * @return the count
+   */
+  static int countDoubles(DoubleDoubleBiPredicate test, double[] a, double[] b, int length) {
+    int count = 0;
+    for (int i = 0; i < length; i++) {
+      if (test.test(a[i], b[i])) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Count the values that pass the predicate.
+   *
+   * @param test the predicate
+   * @param a the first values
+   * @param b the second values
+   * @param length the length
+   * @return the count
+   */
+  static int countFloats(FloatFloatBiPredicate test, float[] a, float[] b, int length) {
+    int count = 0;
+    for (int i = 0; i < length; i++) {
+      if (test.test(a[i], b[i])) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Count the double values that pass the predicate.
+   *
+   * @param source the source
+   * @return the count
+   */
+  @Benchmark
+  public int doubles(Source source) {
+    return countDoubles(source.doubleTest, source.doubles1, source.doubles2, source.size);
+  }
+
+  /**
+   * Count the float values that pass the predicate.
+   *
+   * @param source the source
+   * @return the count
+   */
+  @Benchmark
+  public int floats(Source source) {
+    return countFloats(source.floatTest, source.floats1, source.floats2, source.size);
+  }
+}
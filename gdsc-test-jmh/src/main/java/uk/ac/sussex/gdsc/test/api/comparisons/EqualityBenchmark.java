@@ -0,0 +1,265 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test JMH
+ *
+ * Contains JMH benchmarks for the GDSC Test libraries.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.api.comparisons;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes benchmark to compare the speed of the equality functions.
+ *
+ * <p>The benchmark is in the same package as the equality classes to allow the package-private
+ * test functions (without argument validation) to be called directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx4096M"})
+public class EqualityBenchmark {
+  /** The relative error. */
+  private static final double RELATIVE_ERROR = 1e-6;
+  /** The absolute error for double values. */
+  private static final double ABSOLUTE_ERROR = 1e-10;
+  /** The absolute error for float values. */
+  private static final float FLOAT_ABSOLUTE_ERROR = 1e-5f;
+  /** The absolute error for long values. */
+  private static final long LONG_ABSOLUTE_ERROR = 3;
+  /** The ULP error for double values. */
+  private static final int ULP_ERROR = 4;
+  /** The ULP error for float values. */
+  private static final short FLOAT_ULP_ERROR = 4;
+
+  /**
+   * The data for the benchmark.
+   */
+  @State(Scope.Benchmark)
+  public static class Data {
+    /** The length of the data. */
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    /** The first double values. */
+    private double[] doubles1;
+    /** The second double values. */
+    private double[] doubles2;
+    /** The first float values. */
+    private float[] floats1;
+    /** The second float values. */
+    private float[] floats2;
+    /** The first long values. */
+    private long[] longs1;
+    /** The second long values. */
+    private long[] longs2;
+
+    /**
+     * Create the data. The second values are within a few ULP of the first values so the
+     * majority of comparisons will be equal.
+     */
+    @Setup
+    public void setup() {
+      final SplittableRandom rng = new SplittableRandom(12345);
+      doubles1 = new double[size];
+      doubles2 = new double[size];
+      floats1 = new float[size];
+      floats2 = new float[size];
+      longs1 = new long[size];
+      longs2 = new long[size];
+      for (int i = 0; i < size; i++) {
+        final double x = rng.nextDouble() * 100;
+        doubles1[i] = x;
+        doubles2[i] = Double.longBitsToDouble(Double.doubleToRawLongBits(x) + rng.nextInt(-3, 4));
+        final float y = (float) x;
+        floats1[i] = y;
+        floats2[i] = Float.intBitsToFloat(Float.floatToRawIntBits(y) + rng.nextInt(-3, 4));
+        final long z = rng.nextLong();
+        longs1[i] = z;
+        longs2[i] = z + rng.nextInt(-3, 4);
+      }
+    }
+  }
+
+  /**
+   * Count the double values that are close using a relative and absolute error.
+   *
+   * @param data the data
+   * @return the count
+   */
+  @Benchmark
+  public int doubleAreClose(Data data) {
+    final double[] a = data.doubles1;
+    final double[] b = data.doubles2;
+    int count = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (DoubleEquality.testAreClose(a[i], b[i], RELATIVE_ERROR, ABSOLUTE_ERROR)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Count the double values that are within an absolute error.
+   *
+   * @param data the data
+   * @return the count
+   */
+  @Benchmark
+  public int doubleAreWithin(Data data) {
+    final double[] a = data.doubles1;
+    final double[] b = data.doubles2;
+    int count = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (DoubleEquality.testAreWithin(a[i], b[i], ABSOLUTE_ERROR)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Count the double values that are within a ULP error.
+   *
+   * @param data the data
+   * @return the count
+   */
+  @Benchmark
+  public int doubleAreWithinUlp(Data data) {
+    final double[] a = data.doubles1;
+    final double[] b = data.doubles2;
+    int count = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (DoubleEquality.testAreWithinUlp(a[i], b[i], ULP_ERROR)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Count the float values that are close using a relative and absolute error.
+   *
+   * @param data the data
+   * @return the count
+   */
+  @Benchmark
+  public int floatAreClose(Data data) {
+    final float[] a = data.floats1;
+    final float[] b = data.floats2;
+    int count = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (FloatEquality.testAreClose(a[i], b[i], RELATIVE_ERROR, FLOAT_ABSOLUTE_ERROR)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Count the float values that are within an absolute error.
+   *
+   * @param data the data
+   * @return the count
+   */
+  @Benchmark
+  public int floatAreWithin(Data data) {
+    final float[] a = data.floats1;
+    final float[] b = data.floats2;
+    int count = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (FloatEquality.testAreWithin(a[i], b[i], FLOAT_ABSOLUTE_ERROR)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Count the float values that are within a ULP error.
+   *
+   * @param data the data
+   * @return the count
+   */
+  @Benchmark
+  public int floatAreWithinUlp(Data data) {
+    final float[] a = data.floats1;
+    final float[] b = data.floats2;
+    int count = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (FloatEquality.testAreWithinUlp(a[i], b[i], FLOAT_ULP_ERROR)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Count the long values that are within an absolute error.
+   *
+   * @param data the data
+   * @return the count
+   */
+  @Benchmark
+  public int longAreWithin(Data data) {
+    final long[] a = data.longs1;
+    final long[] b = data.longs2;
+    int count = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (LongEquality.testAreWithin(a[i], b[i], LONG_ABSOLUTE_ERROR)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Count the long values that are close using a relative and absolute error.
+   *
+   * @param data the data
+   * @return the count
+   */
+  @Benchmark
+  public int longAreClose(Data data) {
+    final long[] a = data.longs1;
+    final long[] b = data.longs2;
+    int count = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (LongEquality.testAreClose(a[i], b[i], RELATIVE_ERROR, LONG_ABSOLUTE_ERROR)) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,208 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test Utilities
+ *
+ * Contains utilities for use with test frameworks.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.utils;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Runs test assertions and counts any thrown {@link AssertionError}s. If the limit is exceeded then
+ * the last generated error is thrown. Any other runtime exception will not be suppressed.
+ *
+ * <p>This is a thread-safe version of {@link AssertionErrorCounter}. Tests can be run concurrently
+ * from multiple threads, e.g. using a parallel stream. The counts are updated atomically without
+ * locking.
+ *
+ * <p>The counter records the number of runs and failures for each test index. These can be used
+ * to report a histogram of the failures.
+ *
+ * <pre>
+ * ConcurrentAssertionErrorCounter c =
+ *     ConcurrentAssertionErrorCounter.withFraction(100, 0.05, 3);
+ * IntStream.range(0, 100).parallel().forEach(i -&gt; {
+ *   c.run(0, () -&gt; test1(i));
+ *   c.run(1, () -&gt; test2(i));
+ *   c.run(2, () -&gt; test3(i));
+ * });
+ * </pre>
+ */
+public class ConcurrentAssertionErrorCounter {
+  /** The failure limit. */
+  private final int failureLimit;
+
+  /** The runs. */
+  private final AtomicIntegerArray runs;
+
+  /** The failures. */
+  private final AtomicIntegerArray failures;
+
+  /**
+   * Creates a new counter.
+   *
+   * @param failureLimit the failure limit that will generate an AssertionError to be thrown
+   */
+  public ConcurrentAssertionErrorCounter(int failureLimit) {
+    this(failureLimit, 1);
+  }
+
+  /**
+   * Creates a new counter with a specified number of different tests to monitor.
+   *
+   * @param failureLimit the failure limit that will generate an {@link AssertionError} to be thrown
+   * @param size the number of different tests to be addressed by index in
+   *        {@link #run(int, TestAssertion)}
+   * @throws IllegalArgumentException if size is not strictly positive
+   */
+  public ConcurrentAssertionErrorCounter(int failureLimit, int size) {
+    this.failureLimit = failureLimit;
+    if (size <= 0) {
+      throw new IllegalArgumentException("Size must be strictly positive: " + size);
+    }
+    runs = new AtomicIntegerArray(size);
+    failures = new AtomicIntegerArray(size);
+  }
+
+  /**
+   * Creates a new counter with a failure limit computed as a fraction of the number of repeats of
+   * each test.
+   *
+   * @param repeats the number of repeats of each test
+   * @param fraction the fraction of repeats that fail that will trigger an error
+   * @param size the number of different tests to be addressed by index in
+   *        {@link #run(int, TestAssertion)}
+   * @return the counter
+   * @throws IllegalArgumentException if fraction is not in the range [0, 1] or repeats or size is
+   *         not strictly positive
+   * @see AssertionErrorCounter#computeFailureLimit(int, double)
+   */
+  public static ConcurrentAssertionErrorCounter withFraction(int repeats, double fraction,
+      int size) {
+    return new ConcurrentAssertionErrorCounter(
+        AssertionErrorCounter.computeFailureLimit(repeats, fraction), size);
+  }
+
+  /**
+   * Run the test (assuming test index 0).
+   *
+   * @param test the test
+   * @throws AssertionError the assertion error if the failure limit has been exceeded
+   */
+  public void run(TestAssertion test) {
+    runTest(0, test);
+  }
+
+  /**
+   * Run the test.
+   *
+   * @param index the test index
+   * @param test the test
+   * @throws IllegalArgumentException if the test index is invalid
+   * @throws AssertionError the assertion error if the failure limit has been exceeded
+   */
+  public void run(int index, TestAssertion test) {
+    if (index < 0 || index >= failures.length()) {
+      throw new IllegalArgumentException("Invalid index : " + index + " / " + failures.length());
+    }
+    runTest(index, test);
+  }
+
+  /**
+   * Run the test.
+   *
+   * @param index the test index
+   * @param test the test
+   * @throws AssertionError the assertion error if the failure limit has been exceeded
+   */
+  private void runTest(int index, TestAssertion test) {
+    runs.incrementAndGet(index);
+    try {
+      test.test();
+    } catch (final AssertionError ex) {
+      // Only count the failure if within the limit
+      for (;;) {
+        final int count = failures.get(index);
+        if (count >= failureLimit) {
+          throw ex;
+        }
+        if (failures.compareAndSet(index, count, count + 1)) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the failure limit.
+   *
+   * @return the failure limit
+   */
+  public int getFailureLimit() {
+    return failureLimit;
+  }
+
+  /**
+   * Gets the number of different tests.
+   *
+   * @return the size
+   */
+  public int size() {
+    return failures.length();
+  }
+
+  /**
+   * Gets the number of runs of the test.
+   *
+   * @param index the test index
+   * @return the runs
+   * @throws IndexOutOfBoundsException if the test index is invalid
+   */
+  public int getRuns(int index) {
+    return runs.get(index);
+  }
+
+  /**
+   * Gets the number of failures of the test that did not exceed the limit.
+   *
+   * @param index the test index
+   * @return the failures
+   * @throws IndexOutOfBoundsException if the test index is invalid
+   */
+  public int getFailures(int index) {
+    return failures.get(index);
+  }
+
+  /**
+   * Gets the number of failures of each test that did not exceed the limit.
+   *
+   * <p>The counts are read individually. If tests are running concurrently the result may not
+   * represent a consistent snapshot of all the counts.
+   *
+   * @return the failures
+   */
+  public int[] getFailureHistogram() {
+    final int[] h = new int[failures.length()];
+    for (int i = 0; i < h.length; i++) {
+      h[i] = failures.get(i);
+    }
+    return h;
+  }
+}
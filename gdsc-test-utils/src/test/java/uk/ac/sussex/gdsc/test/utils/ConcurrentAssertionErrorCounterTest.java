@@ -0,0 +1,131 @@
+/*-
+ * #%L
+ * Genome Damage and Stability Centre Test Utilities
+ *
+ * Contains utilities for use with test frameworks.
+ * %%
+ * Copyright (C) 2018 - 2025 Alex Herbert
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.test.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("javadoc")
+class ConcurrentAssertionErrorCounterTest {
+  private static final TestAssertion NO_ERROR = () -> {
+    // No-op
+  };
+  private static final TestAssertion ERROR = () -> {
+    throw new AssertionError();
+  };
+
+  @Test
+  void canConstruct() {
+    final ConcurrentAssertionErrorCounter c1 = new ConcurrentAssertionErrorCounter(3);
+    Assertions.assertEquals(3, c1.getFailureLimit());
+    Assertions.assertEquals(1, c1.size());
+    final ConcurrentAssertionErrorCounter c2 = new ConcurrentAssertionErrorCounter(3, 5);
+    Assertions.assertEquals(5, c2.size());
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new ConcurrentAssertionErrorCounter(1, 0));
+    final ConcurrentAssertionErrorCounter c3 =
+        ConcurrentAssertionErrorCounter.withFraction(345, 0.1, 2);
+    Assertions.assertEquals(AssertionErrorCounter.computeFailureLimit(345, 0.1),
+        c3.getFailureLimit());
+    Assertions.assertEquals(2, c3.size());
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> ConcurrentAssertionErrorCounter.withFraction(345, 1.5, 2));
+  }
+
+  @Test
+  void badIndexThrows() {
+    final ConcurrentAssertionErrorCounter c = new ConcurrentAssertionErrorCounter(1, 2);
+    c.run(0, NO_ERROR);
+    c.run(1, NO_ERROR);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> c.run(-1, NO_ERROR));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> c.run(2, NO_ERROR));
+  }
+
+  @Test
+  void canCountFailures() {
+    final ConcurrentAssertionErrorCounter c = new ConcurrentAssertionErrorCounter(2, 2);
+    c.run(ERROR);
+    c.run(NO_ERROR);
+    c.run(1, ERROR);
+    c.run(ERROR);
+    Assertions.assertEquals(3, c.getRuns(0));
+    Assertions.assertEquals(1, c.getRuns(1));
+    Assertions.assertEquals(2, c.getFailures(0));
+    Assertions.assertEquals(1, c.getFailures(1));
+    Assertions.assertArrayEquals(new int[] {2, 1}, c.getFailureHistogram());
+    // Exceed the limit
+    final AssertionError error = new AssertionError("limit");
+    final AssertionError thrown = Assertions.assertThrows(AssertionError.class, () -> c.run(() -> {
+      throw error;
+    }));
+    Assertions.assertSame(error, thrown);
+    Assertions.assertEquals(4, c.getRuns(0));
+    Assertions.assertEquals(2, c.getFailures(0));
+    c.run(1, ERROR);
+    Assertions.assertThrows(AssertionError.class, () -> c.run(1, ERROR));
+  }
+
+  @Test
+  void doesNotSuppressOtherExceptions() {
+    final ConcurrentAssertionErrorCounter c = new ConcurrentAssertionErrorCounter(2);
+    Assertions.assertThrows(IllegalStateException.class, () -> c.run(() -> {
+      throw new IllegalStateException();
+    }));
+  }
+
+  @Test
+  void canCountConcurrently() {
+    final int repeats = 10000;
+    final int size = 4;
+    final ConcurrentAssertionErrorCounter c = new ConcurrentAssertionErrorCounter(repeats, size);
+    IntStream.range(0, repeats).parallel().forEach(i -> {
+      for (int j = 0; j < size; j++) {
+        // Test j fails on every (j + 1)th repeat
+        final boolean fail = i % (j + 1) == 0;
+        c.run(j, fail ? ERROR : NO_ERROR);
+      }
+    });
+    for (int j = 0; j < size; j++) {
+      Assertions.assertEquals(repeats, c.getRuns(j));
+      Assertions.assertEquals((repeats + j) / (j + 1), c.getFailures(j));
+    }
+  }
+
+  @Test
+  void canThrowAtLimitConcurrently() {
+    final int limit = 100;
+    final ConcurrentAssertionErrorCounter c = new ConcurrentAssertionErrorCounter(limit);
+    final AtomicInteger thrown = new AtomicInteger();
+    IntStream.range(0, 1000).parallel().forEach(i -> {
+      try {
+        c.run(ERROR);
+      } catch (final AssertionError ex) {
+        thrown.incrementAndGet();
+      }
+    });
+    Assertions.assertEquals(limit, c.getFailures(0));
+    Assertions.assertEquals(1000 - limit, thrown.get());
+  }
+}